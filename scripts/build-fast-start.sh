@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Builds the fast-start layout in target/fast-start: the AOT-processed application unpacked onto a plain
+# class path (AppCDS cannot archive classes loaded from nested jars) plus an AppCDS archive recorded
+# from a training run that stops right after the context refresh.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+OUT=target/fast-start
+MAIN_CLASS=org.example.clearsolutiontask.ClearSolutionTaskApplication
+
+mvn -B -q -Pfast-start -DskipTests package
+JAR=$(ls target/*.jar | grep -v '\.original$' | head -n 1)
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+(cd "$OUT" && jar -xf "../../$JAR")
+
+CLASSPATH_ENTRIES=$(sed -e 's/^- "//' -e 's/"$//' "$OUT/BOOT-INF/classpath.idx" | paste -sd: -)
+cat > "$OUT/app.args" <<ARGS
+-Dspring.aot.enabled=true
+-Dspring.profiles.active=fast-start
+-cp BOOT-INF/classes:$CLASSPATH_ENTRIES
+ARGS
+
+(cd "$OUT" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh @app.args "$MAIN_CLASS" \
+    --user.snapshot.save-on-shutdown=false)
+
+echo "Fast-start layout ready in $OUT; run it with:"
+echo "  (cd $OUT && java -XX:SharedArchiveFile=app.jsa @app.args $MAIN_CLASS)"
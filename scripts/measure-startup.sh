@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Measures the time from JVM launch to the first successful request against the user API.
+#
+# Usage: scripts/measure-startup.sh [jar|fast-start] [runs]
+#   jar         the regular repackaged jar (mvn package)
+#   fast-start  the AOT + AppCDS layout produced by scripts/build-fast-start.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+MODE=${1:-fast-start}
+RUNS=${2:-5}
+PORT=${PORT:-18080}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-60}
+MAIN_CLASS=org.example.clearsolutiontask.ClearSolutionTaskApplication
+URL="http://localhost:$PORT/users/search?from=1900-01-01&to=1900-01-02"
+
+launch() {
+    case "$MODE" in
+        jar)
+            java -jar "$(ls target/*.jar | grep -v '\.original$' | head -n 1)" --server.port="$PORT" >/dev/null 2>&1 &
+            ;;
+        fast-start)
+            (cd target/fast-start && exec java -XX:SharedArchiveFile=app.jsa @app.args "$MAIN_CLASS" \
+                --server.port="$PORT") >/dev/null 2>&1 &
+            ;;
+        *)
+            echo "Unknown mode '$MODE', expected 'jar' or 'fast-start'" >&2
+            exit 1
+            ;;
+    esac
+    echo $!
+}
+
+results=()
+for run in $(seq 1 "$RUNS"); do
+    start=$(date +%s%N)
+    pid=$(launch)
+    deadline=$((start + TIMEOUT_SECONDS * 1000000000))
+    until curl -fs -o /dev/null "$URL"; do
+        if [ "$(date +%s%N)" -gt "$deadline" ] || ! kill -0 "$pid" 2>/dev/null; then
+            echo "run $run: no successful request within ${TIMEOUT_SECONDS}s" >&2
+            kill "$pid" 2>/dev/null || true
+            exit 1
+        fi
+        sleep 0.01
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    while kill -0 "$pid" 2>/dev/null; do
+        sleep 0.05
+    done
+    elapsed=$(((end - start) / 1000000))
+    results+=("$elapsed")
+    echo "run $run: ${elapsed} ms to first successful request"
+done
+
+sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+echo "mode=$MODE runs=$RUNS min=${sorted[0]}ms median=${sorted[$((RUNS / 2))]}ms max=${sorted[$((RUNS - 1))]}ms"
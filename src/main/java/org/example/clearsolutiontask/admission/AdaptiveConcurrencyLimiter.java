@@ -0,0 +1,116 @@
+package org.example.clearsolutiontask.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that follows observed latency, in the spirit of TCP Vegas / gradient limiters.
+ * <p>
+ * Latency samples are collected in windows of {@code windowSize} requests. After each window the limit is
+ * scaled by {@code gradient = tolerance * minRtt / averageRtt} (clamped to [0.5, 1]) plus a
+ * {@code sqrt(limit)} allowance for queueing, and smoothed. While latency stays within {@code tolerance}
+ * of the best observed latency the limit grows; once requests start queueing it shrinks, so excess load is
+ * rejected up front instead of waiting in line. The minimum latency is re-learned every
+ * {@code minRttResetWindows} windows so that a permanent latency shift is eventually accepted.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int windowSize;
+    private final int minRttResetWindows;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int limit;
+
+    // Window state, guarded by this.
+    private double estimatedLimit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long windowRttSumNanos;
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private int windowsSinceMinRttReset;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double smoothing, int windowSize, int minRttResetWindows) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowSize = windowSize;
+        this.minRttResetWindows = minRttResetWindows;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire(RequestPriority priority) {
+        int allowed = priority.allowedConcurrency(limit);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit obtained from {@link #tryAcquire}; {@code rttNanos < 0} releases without sampling.
+     */
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (rttNanos >= 0) {
+            sample(rttNanos, inFlightBefore);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtCompletion) {
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        windowRttSumNanos += rttNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+        if (++windowSamples < windowSize) {
+            return;
+        }
+
+        double averageRtt = (double) windowRttSumNanos / windowSamples;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * minRttNanos / averageRtt));
+        boolean applicationLimited = windowMaxInFlight < estimatedLimit / 2;
+        if (gradient < 1.0 || !applicationLimited) {
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = estimatedLimit * (1 - smoothing) + target * smoothing;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+            limit = (int) estimatedLimit;
+        }
+
+        if (++windowsSinceMinRttReset >= minRttResetWindows) {
+            minRttNanos = windowMinRttNanos;
+            windowsSinceMinRttReset = 0;
+        }
+        windowRttSumNanos = 0;
+        windowMinRttNanos = Long.MAX_VALUE;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+}
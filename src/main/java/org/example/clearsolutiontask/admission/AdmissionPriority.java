@@ -0,0 +1,28 @@
+package org.example.clearsolutiontask.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the admission priority of a handler method; unannotated handlers are {@link RequestPriority#NORMAL}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionPriority {
+
+    RequestPriority value();
+
+    /**
+     * Whether the request latency feeds the adaptive concurrency limit. Disable for long-running streaming
+     * endpoints whose duration says nothing about server overload.
+     */
+    boolean sampleLatency() default true;
+
+    /**
+     * Name of a request parameter listing the items a request works on, e.g. {@code ids} of a batch lookup. When
+     * set, the request costs one token per listed value, and at least the priority's own cost.
+     */
+    String costParameter() default "";
+}
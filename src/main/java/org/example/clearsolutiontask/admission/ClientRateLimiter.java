@@ -0,0 +1,67 @@
+package org.example.clearsolutiontask.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets. The bucket map is pruned of idle clients once it grows past {@code maxClients},
+ * so a flood of distinct client keys cannot grow it without bound. While every tracked client is still active,
+ * new clients share a single overflow bucket instead of getting one of their own, so neither they nor the tracked
+ * clients get a fresh budget.
+ */
+public class ClientRateLimiter {
+
+    private final double capacity;
+    private final double refillPerSecond;
+    private final int maxClients;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+
+    public ClientRateLimiter(double capacity, double refillPerSecond, int maxClients, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+        this.idleNanos = Math.max(TimeUnit.SECONDS.toNanos(1),
+                new TokenBucket(capacity, refillPerSecond, nanoClock).nanosToRefill());
+        this.overflow = new TokenBucket(capacity, refillPerSecond, nanoClock);
+    }
+
+    public boolean tryAcquire(String clientKey, RequestPriority priority) {
+        return tryAcquire(clientKey, priority.getTokenCost());
+    }
+
+    /**
+     * Takes {@code tokens} from the client's bucket. A cost above the bucket capacity is charged as the whole
+     * capacity, so such a request drains the bucket instead of never being admitted.
+     */
+    public boolean tryAcquire(String clientKey, int tokens) {
+        int cost = Math.max(1, Math.min(tokens, (int) capacity));
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients && !prune()) {
+                return overflow.tryConsume(cost);
+            }
+            bucket = buckets.computeIfAbsent(clientKey, key -> new TokenBucket(capacity, refillPerSecond, nanoClock));
+        }
+        return bucket.tryConsume(cost);
+    }
+
+    public int clientCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Drops idle buckets and returns whether there is room for a new client.
+     */
+    private synchronized boolean prune() {
+        if (buckets.size() >= maxClients) {
+            buckets.values().removeIf(bucket -> bucket.isIdle(idleNanos));
+        }
+        return buckets.size() < maxClients;
+    }
+}
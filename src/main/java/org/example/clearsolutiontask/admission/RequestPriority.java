@@ -0,0 +1,27 @@
+package org.example.clearsolutiontask.admission;
+
+/**
+ * Admission priority of an endpoint. Lower priorities may only use a share of the concurrency limit and
+ * pay more tokens from the client's bucket, so cheap lookups keep being served while scans are shed first.
+ */
+public enum RequestPriority {
+    HIGH(1.0, 1),
+    NORMAL(0.9, 1),
+    LOW(0.5, 5);
+
+    private final double limitShare;
+    private final int tokenCost;
+
+    RequestPriority(double limitShare, int tokenCost) {
+        this.limitShare = limitShare;
+        this.tokenCost = tokenCost;
+    }
+
+    public int allowedConcurrency(int limit) {
+        return Math.max(1, (int) (limit * limitShare));
+    }
+
+    public int getTokenCost() {
+        return tokenCost;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.clearsolutiontask.admission;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Classic token bucket refilled continuously at {@code refillPerSecond} up to {@code capacity} tokens.
+ */
+public class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefillNanos;
+    private long lastUsedNanos;
+
+    public TokenBucket(double capacity, double refillPerSecond, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / NANOS_PER_SECOND;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.lastUsedNanos = lastRefillNanos;
+    }
+
+    public synchronized boolean tryConsume(int cost) {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+        lastUsedNanos = now;
+        if (tokens < cost) {
+            return false;
+        }
+        tokens -= cost;
+        return true;
+    }
+
+    /**
+     * Whether the bucket has not been touched for {@code idleNanos}. Once that exceeds the time to refill
+     * the whole capacity, dropping the bucket does not change the client's budget.
+     */
+    public synchronized boolean isIdle(long idleNanos) {
+        return nanoClock.getAsLong() - lastUsedNanos >= idleNanos;
+    }
+
+    public long nanosToRefill() {
+        return (long) (capacity / refillPerNano);
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.clearsolutiontask.config;
+
+import org.example.clearsolutiontask.admission.AdaptiveConcurrencyLimiter;
+import org.example.clearsolutiontask.admission.ClientRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(@Value("${admission.client.burst:2000}") double burst,
+                                               @Value("${admission.client.rate-per-second:1000}") double ratePerSecond,
+                                               @Value("${admission.client.max-tracked:10000}") int maxTrackedClients) {
+        return new ClientRateLimiter(burst, ratePerSecond, maxTrackedClients, System::nanoTime);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(@Value("${admission.limit.initial:50}") int initialLimit,
+                                                                 @Value("${admission.limit.min:8}") int minLimit,
+                                                                 @Value("${admission.limit.max:400}") int maxLimit,
+                                                                 @Value("${admission.limit.rtt-tolerance:2.0}") double tolerance,
+                                                                 @Value("${admission.limit.smoothing:0.2}") double smoothing,
+                                                                 @Value("${admission.limit.window-size:50}") int windowSize,
+                                                                 @Value("${admission.limit.min-rtt-reset-windows:1000}") int minRttResetWindows) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, smoothing, windowSize, minRttResetWindows);
+    }
+}
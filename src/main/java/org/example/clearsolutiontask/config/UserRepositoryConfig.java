@@ -0,0 +1,64 @@
+package org.example.clearsolutiontask.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.clearsolutiontask.repository.InMemoryUserRepository;
+import org.example.clearsolutiontask.repository.JdbcUserRepository;
+import org.example.clearsolutiontask.repository.UserRepository;
+import org.example.clearsolutiontask.repository.storage.HeapUserStore;
+import org.example.clearsolutiontask.repository.storage.TieredUserStore;
+import org.example.clearsolutiontask.repository.storage.UserStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Picks the {@link UserRepository} backend from {@code user.repository.backend}. The properties are read when the
+ * bean is created rather than through conditional beans, so the choice also works in an ahead-of-time build, and the
+ * connection pool only exists when the {@code jdbc} backend is selected.
+ */
+@Configuration
+public class UserRepositoryConfig {
+
+    private static final int BYTES_PER_MEGABYTE = 1 << 20;
+
+    @Bean
+    public UserRepository userRepository(@Value("${user.repository.backend:memory}") String backend,
+                                         @Value("${user.storage.mode:heap}") String storageMode,
+                                         @Value("${user.storage.hot.max-entries:100000}") int hotMaxEntries,
+                                         @Value("${user.storage.cold.path:}") String coldPath,
+                                         @Value("${user.storage.cold.segment-size-mb:64}") int segmentSizeMb,
+                                         @Value("${user.jdbc.url:jdbc:h2:file:./data/users;QUERY_CACHE_SIZE=64}") String jdbcUrl,
+                                         @Value("${user.jdbc.username:sa}") String jdbcUsername,
+                                         @Value("${user.jdbc.password:}") String jdbcPassword,
+                                         @Value("${user.jdbc.pool-size:10}") int poolSize,
+                                         @Value("${user.jdbc.batch-size:1000}") int batchSize) {
+        return switch (backend) {
+            case "memory" -> new InMemoryUserRepository(userStore(storageMode, hotMaxEntries, coldPath, segmentSizeMb));
+            case "jdbc" -> new JdbcUserRepository(dataSource(jdbcUrl, jdbcUsername, jdbcPassword, poolSize), batchSize);
+            default -> throw new IllegalArgumentException("Unknown user.repository.backend '%s'".formatted(backend));
+        };
+    }
+
+    private static UserStore userStore(String mode, int hotMaxEntries, String coldPath, int segmentSizeMb) {
+        return switch (mode) {
+            case "heap" -> new HeapUserStore();
+            case "tiered" -> TieredUserStore.open(coldPath, hotMaxEntries, segmentSizeMb * BYTES_PER_MEGABYTE);
+            default -> throw new IllegalArgumentException("Unknown user.storage.mode '%s'".formatted(mode));
+        };
+    }
+
+    /**
+     * A fixed-size pool: connections keep their statement cache, so they are worth keeping open.
+     */
+    private static HikariDataSource dataSource(String url, String username, String password, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("users");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        return new HikariDataSource(config);
+    }
+}
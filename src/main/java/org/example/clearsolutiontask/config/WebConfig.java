@@ -0,0 +1,19 @@
+package org.example.clearsolutiontask.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.clearsolutiontask.controller.interceptor.AdmissionControlInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/users", "/users/**");
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.clearsolutiontask.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.clearsolutiontask.dto.SearchCacheStatsDto;
+import org.example.clearsolutiontask.dto.StorageStatsDto;
+import org.example.clearsolutiontask.service.SearchResultCache;
+import org.example.clearsolutiontask.service.UserService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/stats")
+public class StatsController {
+
+    private final SearchResultCache searchResultCache;
+    private final UserService userService;
+
+    @GetMapping("/search-cache")
+    public SearchCacheStatsDto getSearchCacheStats() {
+        return searchResultCache.stats();
+    }
+
+    @GetMapping("/storage")
+    public StorageStatsDto getStorageStats() {
+        return userService.getStorageStats();
+    }
+}
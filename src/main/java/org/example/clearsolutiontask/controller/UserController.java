@@ -1,16 +1,32 @@
 package org.example.clearsolutiontask.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.clearsolutiontask.admission.AdmissionPriority;
+import org.example.clearsolutiontask.admission.RequestPriority;
+import org.example.clearsolutiontask.dto.BulkPatchDto;
+import org.example.clearsolutiontask.dto.BulkResultDto;
 import org.example.clearsolutiontask.dto.EditUserDto;
 import org.example.clearsolutiontask.dto.GetUserDto;
+import org.example.clearsolutiontask.dto.ImportResultDto;
+import org.example.clearsolutiontask.dto.UserBatchDto;
 import org.example.clearsolutiontask.exception.UserNotFoundException;
 import org.example.clearsolutiontask.exception.ValidationException;
+import org.example.clearsolutiontask.model.BulkFormat;
 import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
+import org.example.clearsolutiontask.repository.index.QueryPlan;
+import org.example.clearsolutiontask.service.UserExportService;
+import org.example.clearsolutiontask.service.UserImportService;
 import org.example.clearsolutiontask.service.UserService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -20,7 +36,11 @@ import java.util.List;
 @RequestMapping("/users")
 public class UserController {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
 
     // 2.1.
     @PostMapping
@@ -49,19 +69,87 @@ public class UserController {
     }
 
     // 2.5.
+    @AdmissionPriority(RequestPriority.LOW)
     @GetMapping("/search")
     public List<User> getUsersByBirthDateRange(@RequestParam("from") String fromDate, @RequestParam("to") String toDate) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        LocalDate from = LocalDate.parse(fromDate, formatter);
-        LocalDate to = LocalDate.parse(toDate, formatter);
-        if (from.isAfter(to)) {
-            throw new ValidationException("The 'from' date cannot be after the 'to' date");
-        }
+        LocalDate from = LocalDate.parse(fromDate, DATE_FORMATTER);
+        LocalDate to = LocalDate.parse(toDate, DATE_FORMATTER);
+        validateRange(from, to);
         return userService.getUsersByBirthDateRange(from, to);
     }
 
+    @AdmissionPriority(RequestPriority.LOW)
+    @PostMapping("/query")
+    public List<User> queryUsers(@RequestBody UserFilter filter) {
+        return userService.findMatching(filter);
+    }
+
+    @AdmissionPriority(RequestPriority.LOW)
+    @PostMapping("/query/explain")
+    public QueryPlan explainQuery(@RequestBody UserFilter filter) {
+        return userService.explain(filter);
+    }
+
+    @AdmissionPriority(value = RequestPriority.LOW, sampleLatency = false)
+    @PostMapping("/bulk-delete")
+    public BulkResultDto deleteUsers(@RequestBody UserFilter filter) {
+        return userService.deleteMatching(filter);
+    }
+
+    @AdmissionPriority(value = RequestPriority.LOW, sampleLatency = false)
+    @PostMapping("/bulk-patch")
+    public BulkResultDto patchUsers(@Validated @RequestBody BulkPatchDto bulkPatchDto) {
+        return userService.patchMatching(bulkPatchDto);
+    }
+
+    @AdmissionPriority(value = RequestPriority.LOW, sampleLatency = false)
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ImportResultDto importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                       InputStream body) {
+        return userImportService.importUsers(body, BulkFormat.fromMediaType(MediaType.parseMediaType(contentType)));
+    }
+
+    @AdmissionPriority(value = RequestPriority.LOW, sampleLatency = false)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                                             @RequestParam(value = "from", required = false) String fromDate,
+                                                             @RequestParam(value = "to", required = false) String toDate) {
+        BulkFormat bulkFormat = BulkFormat.fromName(format);
+        if ((fromDate == null) != (toDate == null)) {
+            throw new ValidationException("Both 'from' and 'to' dates are required to export a range");
+        }
+        LocalDate from = fromDate == null ? null : LocalDate.parse(fromDate, DATE_FORMATTER);
+        LocalDate to = toDate == null ? null : LocalDate.parse(toDate, DATE_FORMATTER);
+        if (from != null) {
+            validateRange(from, to);
+        }
+        StreamingResponseBody body = output -> userExportService.export(output, bulkFormat, from, to);
+        return ResponseEntity.ok()
+                .contentType(bulkFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"users.%s\"".formatted(bulkFormat.name().toLowerCase()))
+                .body(body);
+    }
+
+    @AdmissionPriority(value = RequestPriority.LOW, costParameter = "ids")
+    @GetMapping(params = "ids")
+    public ResponseEntity<StreamingResponseBody> getUsersByIds(@RequestParam("ids") List<Long> userIds) {
+        UserBatchDto batch = userService.findAllById(userIds);
+        StreamingResponseBody body = output -> userExportService.writeBatch(output, batch);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @AdmissionPriority(RequestPriority.HIGH)
     @GetMapping("/{userId}")
     public User getUsersById(@PathVariable Long userId) {
         return userService.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
     }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("The 'from' date cannot be after the 'to' date");
+        }
+    }
 }
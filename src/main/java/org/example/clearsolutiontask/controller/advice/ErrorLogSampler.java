@@ -0,0 +1,75 @@
+package org.example.clearsolutiontask.controller.advice;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides which handled errors are worth a log line. Each error kind may log {@code maxPerSecond} lines per
+ * one-second window; past that, only every {@code sampleEvery}-th error is logged, and each logged line reports
+ * how many similar errors were skipped since the previous one. The check is lock-free so a flood of 404s does not
+ * serialize on it.
+ */
+@Component
+public class ErrorLogSampler {
+
+    /**
+     * Returned by {@link #acquire} when the error must not be logged.
+     */
+    public static final long SKIP = -1;
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxPerSecond;
+    private final long sampleEvery;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ErrorLogSampler(@Value("${error-log.max-per-second:5}") int maxPerSecond,
+                           @Value("${error-log.sample-every:1000}") long sampleEvery) {
+        this(maxPerSecond, sampleEvery, System::nanoTime);
+    }
+
+    ErrorLogSampler(int maxPerSecond, long sampleEvery, LongSupplier nanoClock) {
+        this.maxPerSecond = maxPerSecond;
+        this.sampleEvery = sampleEvery;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Records one error of the given kind and returns {@link #SKIP}, or the number of errors of that kind skipped
+     * since the last logged one.
+     */
+    public long acquire(Class<?> kind) {
+        Window window = windows.computeIfAbsent(kind, k -> new Window(nanoClock.getAsLong()));
+        long now = nanoClock.getAsLong();
+        long start = window.start.get();
+        if (now - start >= WINDOW_NANOS && window.start.compareAndSet(start, now)) {
+            window.logged.set(0);
+        }
+        if (window.logged.incrementAndGet() <= maxPerSecond) {
+            return window.skipped.getAndSet(0);
+        }
+        long skipped = window.skipped.incrementAndGet();
+        if (sampleEvery > 0 && skipped % sampleEvery == 0) {
+            return window.skipped.getAndSet(0) - 1;
+        }
+        return SKIP;
+    }
+
+    private static final class Window {
+        private final AtomicLong start;
+        private final AtomicLong logged = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+
+        Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+    }
+}
@@ -1,51 +1,112 @@
 package org.example.clearsolutiontask.controller.advice;
 
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.clearsolutiontask.dto.ErrorDto;
+import org.example.clearsolutiontask.dto.FieldErrorDto;
 import org.example.clearsolutiontask.exception.ServiceException;
+import org.example.clearsolutiontask.exception.ServiceOverloadedException;
+import org.example.clearsolutiontask.exception.TooManyRequestsException;
 import org.example.clearsolutiontask.exception.UserNotFoundException;
 import org.example.clearsolutiontask.exception.ValidationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class UserControllerAdvice {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String VALIDATION_FAILED = "Validation failed";
+    private static final String MALFORMED_BODY = "Malformed request body";
+
+    private final ErrorLogSampler errorLogSampler;
+
+    // Field errors are reported one per field instead of the exception message, which renders the whole binding result.
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ErrorDto handleValidationExceptions(MethodArgumentNotValidException ex) {
-        return new ErrorDto(ex.getMessage());
+        List<FieldErrorDto> fieldErrors = new ArrayList<>(ex.getErrorCount());
+        for (ObjectError error : ex.getAllErrors()) {
+            String field = error instanceof FieldError fieldError ? fieldError.getField() : error.getObjectName();
+            fieldErrors.add(new FieldErrorDto(field, error.getDefaultMessage()));
+        }
+        return new ErrorDto(VALIDATION_FAILED, fieldErrors);
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(ConstraintViolationException.class)
     public ErrorDto handleConstraintViolationExceptions(ConstraintViolationException ex) {
-        return new ErrorDto(ex.getMessage());
+        List<FieldErrorDto> fieldErrors = new ArrayList<>(ex.getConstraintViolations().size());
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            fieldErrors.add(new FieldErrorDto(violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+        return new ErrorDto(VALIDATION_FAILED, fieldErrors);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ErrorDto handleMessageNotReadableExceptions(HttpMessageNotReadableException ex) {
+        long skipped = errorLogSampler.acquire(HttpMessageNotReadableException.class);
+        if (skipped != ErrorLogSampler.SKIP) {
+            log.warn("Handled HttpMessageNotReadableException: {} ({} similar skipped)", ex.getMostSpecificCause().getMessage(), skipped);
+        }
+        return new ErrorDto(MALFORMED_BODY);
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(ValidationException.class)
     public ErrorDto handleValidationExceptions(ValidationException ex) {
-        log.warn("Handled ValidationException: {}", ex.getMessage());
+        long skipped = errorLogSampler.acquire(ValidationException.class);
+        if (skipped != ErrorLogSampler.SKIP) {
+            log.warn("Handled ValidationException: {} ({} similar skipped)", ex.getMessage(), skipped);
+        }
         return new ErrorDto(ex.getMessage());
     }
 
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(UserNotFoundException.class)
     public ErrorDto handleUserExceptions(UserNotFoundException ex) {
-        log.warn("Handled UserNotFoundException: {}", ex.getMessage());
+        long skipped = errorLogSampler.acquire(UserNotFoundException.class);
+        if (skipped != ErrorLogSampler.SKIP) {
+            log.warn("Handled UserNotFoundException: {} ({} similar skipped)", ex.getMessage(), skipped);
+        }
+        return new ErrorDto(ex.getMessage());
+    }
+
+    // Load shedding is expected under overload: no logging, so rejections stay as cheap as possible.
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ErrorDto handleTooManyRequestsExceptions(TooManyRequestsException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return new ErrorDto(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ErrorDto handleServiceOverloadedExceptions(ServiceOverloadedException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
         return new ErrorDto(ex.getMessage());
     }
 
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler(ServiceException.class)
     public ErrorDto handleServiceExceptions(ServiceException ex) {
-        log.error("Handled ServiceException: {}", ex.getMessage());
+        log.error("Handled ServiceException: {}", ex.getMessage(), ex);
         return new ErrorDto(ex.getMessage());
     }
 }
@@ -0,0 +1,121 @@
+package org.example.clearsolutiontask.controller.interceptor;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.clearsolutiontask.admission.AdaptiveConcurrencyLimiter;
+import org.example.clearsolutiontask.admission.AdmissionPriority;
+import org.example.clearsolutiontask.admission.ClientRateLimiter;
+import org.example.clearsolutiontask.admission.RequestPriority;
+import org.example.clearsolutiontask.exception.ServiceOverloadedException;
+import org.example.clearsolutiontask.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Admits or sheds requests before the handler runs: first the client's token bucket, then the adaptive
+ * concurrency limit. Rejections are thrown as exceptions so that {@code UserControllerAdvice} answers them
+ * with 429 or 503 without touching the service layer.
+ * <p>
+ * For async handlers (streaming export) the permit is held across the async dispatch and released when the
+ * response completes.
+ * <p>
+ * Clients are keyed by their authenticated principal, else by remote address. The {@code X-Client-Id} header is
+ * honoured only on requests from {@code admission.client.trusted-proxies}, since any other caller could rotate it
+ * to get a fresh bucket on every request.
+ * <p>
+ * Handlers with an {@link AdmissionPriority#costParameter} pay one token per value of that parameter, so a batch
+ * costs the client as much as the single requests it replaces.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+    private static final String ADMITTED_AT = AdmissionControlInterceptor.class.getName() + ".admittedAt";
+    private static final String SAMPLE_LATENCY = AdmissionControlInterceptor.class.getName() + ".sampleLatency";
+
+    private final ClientRateLimiter clientRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Value("${admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${admission.client.trusted-proxies:}")
+    private Set<String> trustedProxies;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod handlerMethod)
+                || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        AdmissionPriority annotation = handlerMethod.getMethodAnnotation(AdmissionPriority.class);
+        RequestPriority priority = annotation == null ? RequestPriority.NORMAL : annotation.value();
+
+        if (!clientRateLimiter.tryAcquire(clientKey(request), tokenCost(request, priority, annotation))) {
+            throw new TooManyRequestsException();
+        }
+        if (!concurrencyLimiter.tryAcquire(priority)) {
+            throw new ServiceOverloadedException();
+        }
+        request.setAttribute(ADMITTED_AT, System.nanoTime());
+        request.setAttribute(SAMPLE_LATENCY, annotation == null || annotation.sampleLatency());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        Object admittedAt = request.getAttribute(ADMITTED_AT);
+        if (admittedAt == null) {
+            return;
+        }
+        request.removeAttribute(ADMITTED_AT);
+        boolean sampleLatency = Boolean.TRUE.equals(request.getAttribute(SAMPLE_LATENCY));
+        concurrencyLimiter.release(sampleLatency ? System.nanoTime() - (long) admittedAt : -1);
+    }
+
+    private static int tokenCost(HttpServletRequest request, RequestPriority priority, AdmissionPriority annotation) {
+        if (annotation == null || annotation.costParameter().isEmpty()) {
+            return priority.getTokenCost();
+        }
+        String[] values = request.getParameterValues(annotation.costParameter());
+        int items = 0;
+        if (values != null) {
+            for (String value : values) {
+                items++;
+                for (int i = 0; i < value.length(); i++) {
+                    if (value.charAt(i) == ',') {
+                        items++;
+                    }
+                }
+            }
+        }
+        return Math.max(priority.getTokenCost(), items);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String remoteAddress = request.getRemoteAddr();
+        if (trustedProxies.contains(remoteAddress)) {
+            String clientId = request.getHeader(CLIENT_ID_HEADER);
+            if (clientId != null && !clientId.isBlank() && clientId.length() <= MAX_CLIENT_ID_LENGTH) {
+                return "client:" + clientId;
+            }
+        }
+        return remoteAddress;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.clearsolutiontask.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+import org.example.clearsolutiontask.model.UserFilter;
+
+@Data
+@Builder
+@Jacksonized
+public class BulkPatchDto {
+    @NotNull
+    private UserFilter filter;
+
+    @NotNull
+    private EditUserDto patch;
+}
@@ -0,0 +1,10 @@
+package org.example.clearsolutiontask.dto;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@RequiredArgsConstructor
+public class BulkResultDto {
+    private final long affected;
+}
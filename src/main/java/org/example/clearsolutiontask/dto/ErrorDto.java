@@ -1,10 +1,19 @@
 package org.example.clearsolutiontask.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+
 @Data
 @RequiredArgsConstructor
 public class ErrorDto {
     private final String message;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final List<FieldErrorDto> fieldErrors;
+
+    public ErrorDto(String message) {
+        this(message, List.of());
+    }
 }
@@ -0,0 +1,11 @@
+package org.example.clearsolutiontask.dto;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@RequiredArgsConstructor
+public class ImportErrorDto {
+    private final long line;
+    private final String message;
+}
@@ -0,0 +1,19 @@
+package org.example.clearsolutiontask.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Data
+@Builder
+@Jacksonized
+public class ImportResultDto {
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private List<ImportErrorDto> errors;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+}
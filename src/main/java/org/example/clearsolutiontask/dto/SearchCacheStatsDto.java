@@ -0,0 +1,22 @@
+package org.example.clearsolutiontask.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+@Data
+@Builder
+@Jacksonized
+public class SearchCacheStatsDto {
+    private long requests;
+    private long hits;
+    private long coalesced;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long invalidations;
+    private int size;
+    private double averageLatencyMicros;
+    private double averageLoadMillis;
+    private double maxLoadMillis;
+}
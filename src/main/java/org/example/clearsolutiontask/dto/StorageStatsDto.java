@@ -0,0 +1,24 @@
+package org.example.clearsolutiontask.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+@Data
+@Builder
+@Jacksonized
+public class StorageStatsDto {
+    private String mode;
+    private long users;
+    private long hotEntries;
+    private long hotCapacity;
+    private long hits;
+    private long faults;
+    private double hitRatio;
+    private long evictions;
+    private double averageFaultMicros;
+    private double maxFaultMicros;
+    private int coldSegments;
+    private long coldBytes;
+    private long deadBytes;
+}
@@ -0,0 +1,14 @@
+package org.example.clearsolutiontask.dto;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.example.clearsolutiontask.model.User;
+
+import java.util.List;
+
+@Data
+@RequiredArgsConstructor
+public class UserBatchDto {
+    private final List<User> users;
+    private final List<Long> missing;
+}
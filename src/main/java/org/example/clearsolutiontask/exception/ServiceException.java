@@ -1,8 +1,22 @@
 package org.example.clearsolutiontask.exception;
 
+/**
+ * Base of the domain exceptions, always translated to a response by the controller advice. Failures such as storage
+ * or I/O errors keep their stack trace and cause for the error log. Expected outcomes that clients can trigger at high
+ * rates, such as a missing user, a bad request or a shed request, use {@link #ServiceException(String, boolean)} to
+ * skip stack trace capture and suppression tracking.
+ */
 public class ServiceException extends RuntimeException {
 
     public ServiceException(String message) {
         super(message);
     }
+
+    public ServiceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    protected ServiceException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
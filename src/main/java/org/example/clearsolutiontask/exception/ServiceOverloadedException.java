@@ -0,0 +1,8 @@
+package org.example.clearsolutiontask.exception;
+
+public class ServiceOverloadedException extends ServiceException {
+
+    public ServiceOverloadedException() {
+        super("Service is overloaded, retry later", false);
+    }
+}
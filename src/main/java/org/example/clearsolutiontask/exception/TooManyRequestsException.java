@@ -0,0 +1,8 @@
+package org.example.clearsolutiontask.exception;
+
+public class TooManyRequestsException extends ServiceException {
+
+    public TooManyRequestsException() {
+        super("Request rate limit exceeded", false);
+    }
+}
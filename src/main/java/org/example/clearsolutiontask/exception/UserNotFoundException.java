@@ -2,7 +2,20 @@ package org.example.clearsolutiontask.exception;
 
 public class UserNotFoundException extends ServiceException {
 
+    private final Long userId;
+
     public UserNotFoundException(Long id) {
-        super("User with id '%s' not found".formatted(id));
+        super(null, false);
+        this.userId = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    // Built on demand: most misses are answered without anyone reading the message.
+    @Override
+    public String getMessage() {
+        return "User with id '" + userId + "' not found";
     }
 }
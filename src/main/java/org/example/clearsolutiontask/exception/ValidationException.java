@@ -3,6 +3,6 @@ package org.example.clearsolutiontask.exception;
 public class ValidationException extends ServiceException {
 
     public ValidationException(String message) {
-        super(message);
+        super(message, false);
     }
 }
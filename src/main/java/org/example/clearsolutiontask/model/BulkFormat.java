@@ -0,0 +1,37 @@
+package org.example.clearsolutiontask.model;
+
+import org.example.clearsolutiontask.exception.ValidationException;
+import org.springframework.http.MediaType;
+
+public enum BulkFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    BulkFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static BulkFormat fromMediaType(MediaType mediaType) {
+        for (BulkFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported bulk format '%s'".formatted(mediaType));
+    }
+
+    public static BulkFormat fromName(String name) {
+        for (BulkFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported bulk format '%s'".formatted(name));
+    }
+}
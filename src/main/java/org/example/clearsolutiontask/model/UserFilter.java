@@ -0,0 +1,84 @@
+package org.example.clearsolutiontask.model;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+import org.example.clearsolutiontask.utils.TextTokens;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Criteria selecting users for queries and bulk operations. All set criteria must match; unset ones match
+ * everything.
+ * <ul>
+ *     <li>Birth-date bounds are inclusive and either may be left open.</li>
+ *     <li>Names match exactly, ignoring case.</li>
+ *     <li>{@code addressContains} matches when every word of it is a word of the address, ignoring case
+ *     and punctuation, so {@code "kyiv"} matches {@code "1 Main St., Kyiv"} but {@code "kyi"} does not.</li>
+ *     <li>{@code emailContains} is a case-insensitive substring match.</li>
+ * </ul>
+ * A blank text criterion, or an {@code addressContains} without any word, would match every user, so it does not
+ * count as a criterion, see {@link #blankCriterion}.
+ */
+@Data
+@Builder
+@Jacksonized
+public class UserFilter {
+    private LocalDate birthDateFrom;
+    private LocalDate birthDateTo;
+    private String firstName;
+    private String lastName;
+    private String addressContains;
+    private String emailContains;
+    private Boolean hasPhoneNumber;
+
+    public boolean isEmpty() {
+        return birthDateFrom == null && birthDateTo == null && isBlank(firstName) && isBlank(lastName)
+                && TextTokens.words(addressContains).isEmpty() && isBlank(emailContains) && hasPhoneNumber == null;
+    }
+
+    /**
+     * Returns the name of the first text criterion that is set but selects nothing in particular, or
+     * {@code null} when there is none.
+     */
+    public String blankCriterion() {
+        if (firstName != null && firstName.isBlank()) {
+            return "firstName";
+        }
+        if (lastName != null && lastName.isBlank()) {
+            return "lastName";
+        }
+        if (addressContains != null && TextTokens.words(addressContains).isEmpty()) {
+            return "addressContains";
+        }
+        if (emailContains != null && emailContains.isBlank()) {
+            return "emailContains";
+        }
+        return null;
+    }
+
+    public boolean hasBirthDateRange() {
+        return birthDateFrom != null || birthDateTo != null;
+    }
+
+    public boolean matches(User user) {
+        LocalDate birthDate = user.getBirthDate();
+        return (birthDateFrom == null || !birthDate.isBefore(birthDateFrom))
+                && (birthDateTo == null || !birthDate.isAfter(birthDateTo))
+                && (firstName == null || firstName.trim().equalsIgnoreCase(user.getFirstName()))
+                && (lastName == null || lastName.trim().equalsIgnoreCase(user.getLastName()))
+                && (addressContains == null || TextTokens.words(user.getAddress()).containsAll(TextTokens.words(addressContains)))
+                && (emailContains == null || (user.getEmail() != null
+                        && user.getEmail().toLowerCase(Locale.ROOT).contains(emailContains.toLowerCase(Locale.ROOT))))
+                && (hasPhoneNumber == null || hasPhoneNumber == hasPhoneNumber(user));
+    }
+
+    public static boolean hasPhoneNumber(User user) {
+        return user.getPhoneNumber() != null && !user.getPhoneNumber().isBlank();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
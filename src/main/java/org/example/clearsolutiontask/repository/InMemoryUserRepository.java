@@ -0,0 +1,244 @@
+package org.example.clearsolutiontask.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.example.clearsolutiontask.dto.StorageStatsDto;
+import org.example.clearsolutiontask.exception.ValidationException;
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
+import org.example.clearsolutiontask.repository.index.QueryPlan;
+import org.example.clearsolutiontask.repository.index.RoaringBitmap;
+import org.example.clearsolutiontask.repository.index.UserIndex;
+import org.example.clearsolutiontask.repository.index.UserQueryPlanner;
+import org.example.clearsolutiontask.repository.storage.HeapUserStore;
+import org.example.clearsolutiontask.repository.storage.TieredUserStore;
+import org.example.clearsolutiontask.repository.storage.UserStore;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Users by id in a {@link UserStore}, with secondary indexes for birth-date ranges and filter queries.
+ * <p>
+ * {@code user.storage.mode} selects the store: {@code heap} (default) keeps every user on heap, {@code tiered} keeps
+ * only recently looked-up users on heap and the rest in memory-mapped segments (see {@link TieredUserStore}). With
+ * a tiered store, returned users are copies.
+ * <p>
+ * The indexes address users by {@code int}, so ids above {@value #MAX_USER_ID} are rejected with a
+ * {@link ValidationException} before anything is written.
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    // Minimum number of users before queries and bulk operations run in parallel.
+    private static final long PARALLELISM_THRESHOLD = 10_000;
+    static final long MAX_USER_ID = Integer.MAX_VALUE;
+
+    private final UserStore users;
+    private final AtomicLong userIdCounter = new AtomicLong(0);
+    private final UserIndex index;
+
+    public InMemoryUserRepository() {
+        this(new HeapUserStore());
+    }
+
+    public InMemoryUserRepository(UserStore users) {
+        this.users = users;
+        this.index = new UserIndex(!users.detachesReads());
+    }
+
+    @Override
+    public void save(User user) {
+        Long id = userIdCounter.incrementAndGet();
+        requireSupportedId(id);
+        user.setId(id);
+        users.put(user);
+        index.index(user);
+    }
+
+    @Override
+    public void saveAll(List<User> batch) {
+        long id = userIdCounter.getAndAdd(batch.size());
+        requireSupportedId(id + batch.size());
+        for (User user : batch) {
+            user.setId(++id);
+            users.put(user);
+        }
+        index.indexAll(batch);
+    }
+
+    @Override
+    public void restore(List<User> batch) {
+        batch.forEach(user -> requireSupportedId(user.getId()));
+        long maxId = 0;
+        List<User> previous = new ArrayList<>(batch.size());
+        for (User user : batch) {
+            previous.add(users.put(user));
+            maxId = Math.max(maxId, user.getId());
+        }
+        userIdCounter.accumulateAndGet(maxId, Math::max);
+        index.reindexAll(previous, batch);
+    }
+
+    @Override
+    public User update(User user) {
+        requireSupportedId(user.getId());
+        index.reindex(users.put(user), user);
+        return user;
+    }
+
+
+    @Override
+    public Optional<User> findById(Long userId) {
+        return Optional.ofNullable(users.get(userId));
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> userIds) {
+        List<User> found = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            User user = users.get(userId);
+            if (user != null) {
+                found.add(user);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public boolean existsById(Long userId) {
+        return users.contains(userId);
+    }
+
+    @Override
+    public Optional<User> deleteById(Long userId) {
+        User removed = users.remove(userId);
+        if (removed != null) {
+            index.remove(removed);
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    @Override
+    public StorageStatsDto storageStats() {
+        return users.stats();
+    }
+
+    private static void requireSupportedId(long userId) {
+        if (userId > MAX_USER_ID) {
+            throw new ValidationException("User id %d exceeds the maximum of %d supported by the in-memory repository"
+                    .formatted(userId, MAX_USER_ID));
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        users.close();
+    }
+
+    @Override
+    public List<User> findMatching(UserFilter filter) {
+        UserQueryPlanner.Candidates candidates = index.candidates(filter);
+        Stream<User> matching = fetchMatching(filter, candidates);
+        return (candidates.fullScan() ? matching.sorted(Comparator.comparing(User::getId)) : matching).toList();
+    }
+
+    @Override
+    public QueryPlan explain(UserFilter filter) {
+        UserQueryPlanner.Candidates candidates = index.candidates(filter);
+        long scanned = candidates.fullScan() ? users.size() : candidates.ids().cardinality();
+        return new QueryPlan(candidates.steps(), scanned, fetchMatching(filter, candidates).count());
+    }
+
+    /**
+     * Candidates come from the indexes, and the indexes are updated once for the whole batch.
+     */
+    @Override
+    public long deleteMatching(UserFilter filter) {
+        List<User> removed = parallelIfLarge(matchingIds(filter))
+                .mapToObj(users::remove)
+                .filter(Objects::nonNull)
+                .toList();
+        index.removeAll(removed);
+        return removed.size();
+    }
+
+    /**
+     * The changed users are re-indexed once for the whole batch.
+     */
+    @Override
+    public long updateMatching(UserFilter filter, Consumer<User> mutator) {
+        List<Change> changes = parallelIfLarge(matchingIds(filter))
+                .mapToObj(users::read)
+                .filter(Objects::nonNull)
+                .map(user -> {
+                    mutator.accept(user);
+                    return new Change(users.put(user), user);
+                })
+                .toList();
+        index.reindexAll(changes.stream().map(Change::previous).toList(), changes.stream().map(Change::current).toList());
+        return changes.size();
+    }
+
+    @Override
+    public List<User> findByBirthDateBetween(LocalDate fromDate, LocalDate toDate) {
+        return streamByBirthDateBetween(fromDate, toDate).toList();
+    }
+
+    /**
+     * Lazily streams every stored user without copying the underlying store.
+     */
+    @Override
+    public Stream<User> streamAll() {
+        return users.stream();
+    }
+
+    /**
+     * Lazily streams users with the same exclusive range semantics as {@link #findByBirthDateBetween}, ordered
+     * by id. Matching ids come from the birth-date index.
+     */
+    @Override
+    public Stream<User> streamByBirthDateBetween(LocalDate fromDate, LocalDate toDate) {
+        RoaringBitmap ids = index.birthDatesBetween(fromDate.plusDays(1), toDate.minusDays(1));
+        return Arrays.stream(ids.toArray())
+                .mapToObj(id -> users.read(id))
+                .filter(user -> user != null && isBetween(user, fromDate, toDate));
+    }
+
+    private Stream<User> fetchMatching(UserFilter filter, UserQueryPlanner.Candidates candidates) {
+        if (candidates.fullScan()) {
+            Stream<User> all = users.stream();
+            return (users.size() >= PARALLELISM_THRESHOLD ? all.parallel() : all).filter(filter::matches);
+        }
+        int[] ids = candidates.ids().toArray();
+        IntStream stream = Arrays.stream(ids);
+        return (ids.length >= PARALLELISM_THRESHOLD ? stream.parallel() : stream)
+                .mapToObj(id -> users.read(id))
+                .filter(user -> user != null && filter.matches(user));
+    }
+
+    private long[] matchingIds(UserFilter filter) {
+        return fetchMatching(filter, index.candidates(filter)).mapToLong(User::getId).toArray();
+    }
+
+    private static LongStream parallelIfLarge(long[] ids) {
+        LongStream stream = Arrays.stream(ids);
+        return ids.length >= PARALLELISM_THRESHOLD ? stream.parallel() : stream;
+    }
+
+    private static boolean isBetween(User user, LocalDate fromDate, LocalDate toDate) {
+        return user.getBirthDate().isAfter(fromDate) && user.getBirthDate().isBefore(toDate);
+    }
+
+    private record Change(User previous, User current) {
+    }
+}
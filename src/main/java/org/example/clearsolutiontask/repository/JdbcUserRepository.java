@@ -0,0 +1,559 @@
+package org.example.clearsolutiontask.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.example.clearsolutiontask.dto.StorageStatsDto;
+import org.example.clearsolutiontask.exception.ServiceException;
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
+import org.example.clearsolutiontask.repository.index.QueryPlan;
+import org.example.clearsolutiontask.utils.TextTokens;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Users in a relational table behind a pooled {@link DataSource}; written for embedded H2 but plain SQL apart
+ * from {@code MERGE ... KEY} and {@code = ANY(?)}.
+ * <p>
+ * <ul>
+ *     <li>Every statement text is a constant or built from a small set of shapes, so the database's per-connection
+ *     statement cache ({@code QUERY_CACHE_SIZE} for H2) reuses parsed statements across calls.</li>
+ *     <li>Ids come from an in-process counter seeded from the table, so batches are sent as JDBC batches of
+ *     {@code batchSize} rows in one transaction without fetching generated keys.</li>
+ *     <li>An index on {@code birth_date} serves range searches, indexes on lower-cased generated columns serve
+ *     the name criteria, and {@code user_address_words} holds each address word per user, kept in step with
+ *     every write, so address criteria are primary-key lookups instead of {@code LIKE} scans.</li>
+ *     <li>Filter queries push every criterion down as SQL and re-check the rows with {@link UserFilter#matches}.
+ *     The email criterion is a substring match and is applied as a residual predicate to the rows the other
+ *     criteria select.</li>
+ *     <li>Bulk updates and deletes lock the matching rows and write them in the same transaction.</li>
+ *     <li>Streams read keyset pages and borrow a connection only per page, so a slow consumer never pins one.</li>
+ * </ul>
+ */
+public class JdbcUserRepository implements UserRepository {
+
+    private static final String COLUMNS = "id, email, first_name, last_name, birth_date, address, phone_number";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM users";
+    private static final String INSERT = "INSERT INTO users (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String MERGE = "MERGE INTO users (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_WORD = "INSERT INTO user_address_words (word, user_id) VALUES (?, ?)";
+    private static final String DELETE_WORDS = "DELETE FROM user_address_words WHERE user_id = ?";
+    private static final String SELECT_BY_ID = SELECT + " WHERE id = ?";
+    private static final String SELECT_BY_IDS = SELECT + " WHERE id = ANY(?)";
+    private static final String SELECT_PAGE = SELECT + " WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String BIRTH_DATE_RANGE = " WHERE birth_date > ? AND birth_date < ? ORDER BY id";
+    private static final String SELECT_BY_BIRTH_DATE = SELECT + BIRTH_DATE_RANGE;
+    private static final String SELECT_IDS_BY_BIRTH_DATE = "SELECT id FROM users" + BIRTH_DATE_RANGE;
+    private static final String SELECT_ADDRESSES = "SELECT id, address FROM users WHERE address IS NOT NULL";
+    private static final String ANY_WORD = "SELECT 1 FROM user_address_words LIMIT 1";
+    private static final String EXISTS_BY_ID = "SELECT 1 FROM users WHERE id = ?";
+    private static final String DELETE_BY_ID = "DELETE FROM users WHERE id = ?";
+    private static final String COUNT = "SELECT COUNT(*) FROM users";
+    private static final String MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM users";
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS users (
+                id BIGINT PRIMARY KEY,
+                email VARCHAR,
+                first_name VARCHAR,
+                last_name VARCHAR,
+                birth_date DATE NOT NULL,
+                address VARCHAR,
+                phone_number VARCHAR
+            )""",
+            "CREATE INDEX IF NOT EXISTS users_birth_date ON users (birth_date)",
+            "ALTER TABLE users ADD COLUMN IF NOT EXISTS first_name_key VARCHAR GENERATED ALWAYS AS (LOWER(first_name))",
+            "ALTER TABLE users ADD COLUMN IF NOT EXISTS last_name_key VARCHAR GENERATED ALWAYS AS (LOWER(last_name))",
+            "CREATE INDEX IF NOT EXISTS users_first_name ON users (first_name_key)",
+            "CREATE INDEX IF NOT EXISTS users_last_name ON users (last_name_key)",
+            """
+            CREATE TABLE IF NOT EXISTS user_address_words (
+                word VARCHAR NOT NULL,
+                user_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+                PRIMARY KEY (word, user_id)
+            )"""
+    };
+    private static final int PAGE_SIZE = 1_000;
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final AtomicLong userIdCounter;
+
+    public JdbcUserRepository(DataSource dataSource, int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+        this.userIdCounter = new AtomicLong(withConnection(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String ddl : SCHEMA) {
+                    statement.execute(ddl);
+                }
+                indexAddressWords(connection);
+                try (ResultSet resultSet = statement.executeQuery(MAX_ID)) {
+                    resultSet.next();
+                    return resultSet.getLong(1);
+                }
+            }
+        }));
+    }
+
+    @Override
+    public void save(User user) {
+        user.setId(userIdCounter.incrementAndGet());
+        writeBatch(INSERT, List.of(user));
+    }
+
+    @Override
+    public void saveAll(List<User> batch) {
+        long id = userIdCounter.getAndAdd(batch.size());
+        for (User user : batch) {
+            user.setId(++id);
+        }
+        writeBatch(INSERT, batch);
+    }
+
+    @Override
+    public void restore(List<User> batch) {
+        writeBatch(MERGE, batch);
+        batch.stream().mapToLong(User::getId).max()
+                .ifPresent(maxId -> userIdCounter.accumulateAndGet(maxId, Math::max));
+    }
+
+    @Override
+    public User update(User user) {
+        writeBatch(MERGE, List.of(user));
+        return user;
+    }
+
+    @Override
+    public Optional<User> findById(Long userId) {
+        return query(SELECT_BY_ID, statement -> statement.setLong(1, userId)).stream().findFirst();
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> userIds) {
+        List<User> rows = query(SELECT_BY_IDS, statement -> statement.setObject(1, userIds.toArray(Long[]::new)));
+        Map<Long, User> byId = new HashMap<>(rows.size() * 2);
+        rows.forEach(user -> byId.put(user.getId(), user));
+        List<User> found = new ArrayList<>(rows.size());
+        for (Long userId : userIds) {
+            User user = byId.get(userId);
+            if (user != null) {
+                found.add(user);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public boolean existsById(Long userId) {
+        return withConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(EXISTS_BY_ID)) {
+                statement.setLong(1, userId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next();
+                }
+            }
+        });
+    }
+
+    @Override
+    public Optional<User> deleteById(Long userId) {
+        return withTransaction(connection -> {
+            Optional<User> removed = select(connection, SELECT_BY_ID + " FOR UPDATE", statement -> statement.setLong(1, userId))
+                    .stream().findFirst();
+            if (removed.isPresent()) {
+                try (PreparedStatement statement = connection.prepareStatement(DELETE_BY_ID)) {
+                    statement.setLong(1, userId);
+                    statement.executeUpdate();
+                }
+            }
+            return removed;
+        });
+    }
+
+    @Override
+    public List<User> findByBirthDateBetween(LocalDate fromDate, LocalDate toDate) {
+        return query(SELECT_BY_BIRTH_DATE, statement -> {
+            statement.setDate(1, Date.valueOf(fromDate));
+            statement.setDate(2, Date.valueOf(toDate));
+        });
+    }
+
+    @Override
+    public List<User> findMatching(UserFilter filter) {
+        FilterQuery query = FilterQuery.of(filter);
+        return query(query.sql(), query::bind).stream().filter(filter::matches).toList();
+    }
+
+    /**
+     * Asks the database for its plan, which only plans the query, then runs the query once, counting the rows
+     * the SQL selects and those that survive the {@link UserFilter#matches} re-check as they are read.
+     */
+    @Override
+    public QueryPlan explain(UserFilter filter) {
+        FilterQuery query = FilterQuery.of(filter);
+        return withConnection(connection -> {
+            String plan;
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+                query.bind(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    plan = resultSet.getString(1);
+                }
+            }
+            long candidates = 0;
+            long matched = 0;
+            try (PreparedStatement statement = connection.prepareStatement(query.sql())) {
+                query.bind(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        candidates++;
+                        if (filter.matches(map(resultSet))) {
+                            matched++;
+                        }
+                    }
+                }
+            }
+            return new QueryPlan(List.of(new QueryPlan.Step(QueryPlan.Operation.SQL, plan, -1, candidates)),
+                    candidates, matched);
+        });
+    }
+
+    /**
+     * Locks the matching rows and deletes them with one batched statement in the same transaction, so rows
+     * changed concurrently are either deleted as they now are or not selected at all.
+     */
+    @Override
+    public long deleteMatching(UserFilter filter) {
+        return withTransaction(connection -> {
+            List<User> matching = lockMatching(connection, filter);
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_BY_ID)) {
+                int pending = 0;
+                for (User user : matching) {
+                    statement.setLong(1, user.getId());
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+            return (long) matching.size();
+        });
+    }
+
+    /**
+     * Locks the matching rows, applies the mutator and writes them back in the same transaction, so a concurrent
+     * write to a selected row waits instead of being overwritten with a stale copy.
+     */
+    @Override
+    public long updateMatching(UserFilter filter, Consumer<User> mutator) {
+        return withTransaction(connection -> {
+            List<User> matching = lockMatching(connection, filter);
+            matching.forEach(mutator);
+            writeUsers(connection, MERGE, matching);
+            return (long) matching.size();
+        });
+    }
+
+    /**
+     * Reads pages of {@value #PAGE_SIZE} rows by id, borrowing a connection per page only. The stream is not a
+     * snapshot: rows written while it is read show up if their id is past the current page.
+     */
+    @Override
+    public Stream<User> streamAll() {
+        return Stream.iterate(page(0), page -> !page.isEmpty(),
+                        page -> page.size() < PAGE_SIZE ? List.of() : page(page.get(page.size() - 1).getId()))
+                .flatMap(List::stream);
+    }
+
+    /**
+     * Reads the matching ids up front, then the users in pages of {@value #PAGE_SIZE}, borrowing a connection per
+     * page only. Users deleted while the stream is read are skipped.
+     */
+    @Override
+    public Stream<User> streamByBirthDateBetween(LocalDate fromDate, LocalDate toDate) {
+        List<Long> ids = withConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_IDS_BY_BIRTH_DATE)) {
+                statement.setDate(1, Date.valueOf(fromDate));
+                statement.setDate(2, Date.valueOf(toDate));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    List<Long> found = new ArrayList<>();
+                    while (resultSet.next()) {
+                        found.add(resultSet.getLong(1));
+                    }
+                    return found;
+                }
+            }
+        });
+        return IntStream.range(0, (ids.size() + PAGE_SIZE - 1) / PAGE_SIZE)
+                .mapToObj(page -> findAllById(ids.subList(page * PAGE_SIZE, Math.min(ids.size(), (page + 1) * PAGE_SIZE))))
+                .flatMap(List::stream);
+    }
+
+    @Override
+    public StorageStatsDto storageStats() {
+        long users = withConnection(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(COUNT)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        });
+        return StorageStatsDto.builder()
+                .mode("jdbc")
+                .users(users)
+                .build();
+    }
+
+    @PreDestroy
+    void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void writeBatch(String sql, List<User> users) {
+        withTransaction(connection -> {
+            writeUsers(connection, sql, users);
+            return null;
+        });
+    }
+
+    /**
+     * Writes users and their address words in batches of {@code batchSize}; a {@link #MERGE} first drops the words
+     * of the previous address, and user rows go before the words that reference them.
+     */
+    private void writeUsers(Connection connection, String sql, List<User> users) throws SQLException {
+        boolean replacesWords = MERGE.equals(sql);
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             PreparedStatement deleteWords = connection.prepareStatement(DELETE_WORDS);
+             PreparedStatement insertWords = connection.prepareStatement(INSERT_WORD)) {
+            int pending = 0;
+            for (User user : users) {
+                bind(statement, user);
+                statement.addBatch();
+                if (replacesWords) {
+                    deleteWords.setLong(1, user.getId());
+                    deleteWords.addBatch();
+                }
+                addWords(insertWords, user.getId(), user.getAddress());
+                if (++pending == batchSize) {
+                    flush(statement, deleteWords, insertWords);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                flush(statement, deleteWords, insertWords);
+            }
+        }
+    }
+
+    /**
+     * Fills {@code user_address_words} for a table written before it existed.
+     */
+    private void indexAddressWords(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery(ANY_WORD)) {
+                if (resultSet.next()) {
+                    return;
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery(SELECT_ADDRESSES);
+                 PreparedStatement insertWords = connection.prepareStatement(INSERT_WORD)) {
+                int pending = 0;
+                while (resultSet.next()) {
+                    addWords(insertWords, resultSet.getLong(1), resultSet.getString(2));
+                    if (++pending == batchSize) {
+                        insertWords.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insertWords.executeBatch();
+                }
+            }
+        }
+    }
+
+    private List<User> lockMatching(Connection connection, UserFilter filter) throws SQLException {
+        FilterQuery query = FilterQuery.of(filter);
+        return select(connection, query.sql() + " FOR UPDATE", query::bind).stream().filter(filter::matches).toList();
+    }
+
+    private List<User> page(long afterId) {
+        return query(SELECT_PAGE, statement -> {
+            statement.setLong(1, afterId);
+            statement.setInt(2, PAGE_SIZE);
+        });
+    }
+
+    private List<User> query(String sql, Binder binder) {
+        return withConnection(connection -> select(connection, sql, binder));
+    }
+
+    private static List<User> select(Connection connection, String sql, Binder binder) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                List<User> users = new ArrayList<>();
+                while (resultSet.next()) {
+                    users.add(map(resultSet));
+                }
+                return users;
+            }
+        }
+    }
+
+    private <T> T withConnection(SqlWork<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw failure(e);
+        }
+    }
+
+    private <T> T withTransaction(SqlWork<T> work) {
+        return withConnection(connection -> {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement statement, User user) throws SQLException {
+        statement.setLong(1, user.getId());
+        statement.setString(2, user.getEmail());
+        statement.setString(3, user.getFirstName());
+        statement.setString(4, user.getLastName());
+        statement.setDate(5, Date.valueOf(user.getBirthDate()));
+        statement.setString(6, user.getAddress());
+        statement.setString(7, user.getPhoneNumber());
+    }
+
+    private static User map(ResultSet resultSet) throws SQLException {
+        return User.builder()
+                .id(resultSet.getLong(1))
+                .email(resultSet.getString(2))
+                .firstName(resultSet.getString(3))
+                .lastName(resultSet.getString(4))
+                .birthDate(resultSet.getDate(5).toLocalDate())
+                .address(resultSet.getString(6))
+                .phoneNumber(resultSet.getString(7))
+                .build();
+    }
+
+    private static void addWords(PreparedStatement insertWords, long userId, String address) throws SQLException {
+        for (String word : TextTokens.words(address)) {
+            insertWords.setString(1, word);
+            insertWords.setLong(2, userId);
+            insertWords.addBatch();
+        }
+    }
+
+    private static void flush(PreparedStatement users, PreparedStatement deleteWords, PreparedStatement insertWords)
+            throws SQLException {
+        deleteWords.executeBatch();
+        users.executeBatch();
+        insertWords.executeBatch();
+    }
+
+    private static ServiceException failure(SQLException e) {
+        return new ServiceException("User storage failed: " + e.getMessage(), e);
+    }
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * SQL for a {@link UserFilter}: a condition per set criterion, in a fixed order so equal shapes share text.
+     */
+    private record FilterQuery(String sql, List<Object> parameters) {
+
+        static FilterQuery of(UserFilter filter) {
+            StringBuilder where = new StringBuilder();
+            List<Object> parameters = new ArrayList<>();
+            if (filter.getBirthDateFrom() != null) {
+                condition(where, "birth_date >= ?");
+                parameters.add(Date.valueOf(filter.getBirthDateFrom()));
+            }
+            if (filter.getBirthDateTo() != null) {
+                condition(where, "birth_date <= ?");
+                parameters.add(Date.valueOf(filter.getBirthDateTo()));
+            }
+            if (filter.getFirstName() != null) {
+                condition(where, "first_name_key = ?");
+                parameters.add(TextTokens.normalize(filter.getFirstName()));
+            }
+            if (filter.getLastName() != null) {
+                condition(where, "last_name_key = ?");
+                parameters.add(TextTokens.normalize(filter.getLastName()));
+            }
+            if (filter.getAddressContains() != null) {
+                for (String word : TextTokens.words(filter.getAddressContains())) {
+                    condition(where, "id IN (SELECT user_id FROM user_address_words WHERE word = ?)");
+                    parameters.add(word);
+                }
+            }
+            if (filter.getEmailContains() != null) {
+                condition(where, "LOWER(email) LIKE ? ESCAPE '\\'");
+                parameters.add("%" + escapeLike(filter.getEmailContains().toLowerCase(Locale.ROOT)) + "%");
+            }
+            if (filter.getHasPhoneNumber() != null) {
+                condition(where, filter.getHasPhoneNumber()
+                        ? "TRIM(phone_number) <> ''"
+                        : "(phone_number IS NULL OR TRIM(phone_number) = '')");
+            }
+            return new FilterQuery(SELECT + where + " ORDER BY id", parameters);
+        }
+
+        void bind(PreparedStatement statement) throws SQLException {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+        }
+
+        private static void condition(StringBuilder where, String condition) {
+            where.append(where.isEmpty() ? " WHERE " : " AND ").append(condition);
+        }
+
+        private static String escapeLike(String value) {
+            return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        }
+    }
+}
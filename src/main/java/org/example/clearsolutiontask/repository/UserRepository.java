@@ -1,54 +1,92 @@
 package org.example.clearsolutiontask.repository;
 
+import org.example.clearsolutiontask.dto.StorageStatsDto;
 import org.example.clearsolutiontask.model.User;
-import org.springframework.stereotype.Repository;
+import org.example.clearsolutiontask.model.UserFilter;
+import org.example.clearsolutiontask.repository.index.QueryPlan;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-@Repository
-public class UserRepository {
+/**
+ * Storage of users, independent of the backend. {@code user.repository.backend} selects the implementation:
+ * {@link InMemoryUserRepository} ({@code memory}, default) or {@link JdbcUserRepository} ({@code jdbc}).
+ * <p>
+ * Returned users may be detached copies, so changes must be saved with {@link #update} to take effect.
+ */
+public interface UserRepository {
 
-    private static final Map<Long, User> users = new ConcurrentHashMap<>();
-    private static final AtomicLong userIdCounter = new AtomicLong(0);
+    /**
+     * Assigns the next id to the user and stores it.
+     */
+    void save(User user);
 
-    public void save(User user) {
-        Long id = userIdCounter.incrementAndGet();
-        user.setId(id);
-        users.put(id, user);
-    }
+    /**
+     * Saves a batch of users, reserving one contiguous block of ids for the whole batch.
+     */
+    void saveAll(List<User> batch);
 
-    public User update(User user) {
-        users.put(user.getId(), user);
-        return user;
-    }
+    /**
+     * Puts users that already carry ids, e.g. from a snapshot, and moves the id counter past them.
+     */
+    void restore(List<User> batch);
 
+    User update(User user);
 
-    public Optional<User> findById(Long userId) {
-        return Optional.ofNullable(users.get(userId));
-    }
+    Optional<User> findById(Long userId);
 
-    public boolean existsById(Long userId) {
-        return users.containsKey(userId);
-    }
+    /**
+     * Looks up many users in one call and returns those found, in the order of {@code userIds}.
+     */
+    List<User> findAllById(Collection<Long> userIds);
 
-    public void deleteById(Long userId) {
-        users.remove(userId);
-    }
+    boolean existsById(Long userId);
 
-    public List<User> findByBirthDateBetween(LocalDate fromDate, LocalDate toDate) {
-        List<User> result = new ArrayList<>();
-        for (User user : users.values()) {
-            if (user.getBirthDate().isAfter(fromDate) && user.getBirthDate().isBefore(toDate)) {
-                result.add(user);
-            }
-        }
-        return result;
-    }
+    /**
+     * Removes the user and returns it as it was stored, or an empty result when there was no such user.
+     */
+    Optional<User> deleteById(Long userId);
 
+    /**
+     * Returns users born strictly between the two dates, ordered by id.
+     */
+    List<User> findByBirthDateBetween(LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Returns the users matching every criterion of the filter, ordered by id.
+     */
+    List<User> findMatching(UserFilter filter);
+
+    /**
+     * Runs the filter query and reports how it was executed instead of the users it found.
+     */
+    QueryPlan explain(UserFilter filter);
+
+    /**
+     * Removes every user matching the filter and returns how many were removed.
+     */
+    long deleteMatching(UserFilter filter);
+
+    /**
+     * Applies {@code mutator} to every user matching the filter, saves the results and returns how many were
+     * updated. The mutator must not change ids.
+     */
+    long updateMatching(UserFilter filter, Consumer<User> mutator);
+
+    /**
+     * Lazily streams every stored user. The stream may hold resources and must be closed.
+     */
+    Stream<User> streamAll();
+
+    /**
+     * Lazily streams users with the same range semantics as {@link #findByBirthDateBetween}. The stream may hold
+     * resources and must be closed.
+     */
+    Stream<User> streamByBirthDateBetween(LocalDate fromDate, LocalDate toDate);
+
+    StorageStatsDto storageStats();
 }
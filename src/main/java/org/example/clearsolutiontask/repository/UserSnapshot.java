@@ -0,0 +1,123 @@
+package org.example.clearsolutiontask.repository;
+
+import org.example.clearsolutiontask.model.User;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary dump of the user store used to warm the repository at startup.
+ * <p>
+ * Layout: {@code MAGIC, VERSION}, then one record per user ({@code long id, long epochDay} and five
+ * length-prefixed UTF-8 strings: email, first name, last name, address, phone number, with {@code -1} for null),
+ * terminated by an id of {@code -1}.
+ */
+public final class UserSnapshot {
+
+    private static final int MAGIC = 0x55534e50;
+    private static final int VERSION = 1;
+    private static final long END_OF_RECORDS = -1L;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private UserSnapshot() {
+    }
+
+    /**
+     * Writes users to a temporary file and atomically moves it over {@code path}, so a crash mid-write
+     * never leaves a truncated snapshot behind. Returns the number of users written.
+     */
+    public static long write(Path path, Iterator<User> users) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        long count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            while (users.hasNext()) {
+                User user = users.next();
+                out.writeLong(user.getId());
+                out.writeLong(user.getBirthDate().toEpochDay());
+                writeString(out, user.getEmail());
+                writeString(out, user.getFirstName());
+                writeString(out, user.getLastName());
+                writeString(out, user.getAddress());
+                writeString(out, user.getPhoneNumber());
+                count++;
+            }
+            out.writeLong(END_OF_RECORDS);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Reads the snapshot and hands users to {@code sink} in batches of at most {@code batchSize}.
+     * Returns the number of users read.
+     */
+    public static long read(Path path, int batchSize, Consumer<List<User>> sink) throws IOException {
+        long count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a user snapshot: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported user snapshot version " + version);
+            }
+            List<User> batch = new ArrayList<>(batchSize);
+            long id;
+            while ((id = in.readLong()) != END_OF_RECORDS) {
+                batch.add(User.builder()
+                        .id(id)
+                        .birthDate(LocalDate.ofEpochDay(in.readLong()))
+                        .email(readString(in))
+                        .firstName(readString(in))
+                        .lastName(readString(in))
+                        .address(readString(in))
+                        .phoneNumber(readString(in))
+                        .build());
+                if (batch.size() == batchSize) {
+                    sink.accept(batch);
+                    count += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+                count += batch.size();
+            }
+        }
+        return count;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.clearsolutiontask.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.clearsolutiontask.exception.ServiceException;
+import org.example.clearsolutiontask.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Warms {@link UserRepository} from {@code user.snapshot.path} while the context is refreshing, i.e. before
+ * the web server accepts requests, and optionally writes the snapshot back on shutdown.
+ * <p>
+ * The properties are read at runtime rather than used as bean conditions so that the bean survives
+ * Spring AOT processing in the {@code fast-start} profile.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSnapshotLoader {
+
+    private static final int RESTORE_BATCH_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+
+    @Value("${user.snapshot.path:}")
+    private String snapshotPath;
+
+    @Value("${user.snapshot.save-on-shutdown:false}")
+    private boolean saveOnShutdown;
+
+    @PostConstruct
+    void load() {
+        if (snapshotPath.isBlank()) {
+            return;
+        }
+        Path path = Path.of(snapshotPath);
+        if (!Files.isRegularFile(path)) {
+            log.info("User snapshot {} not found, starting with an empty repository", path);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            long count = UserSnapshot.read(path, RESTORE_BATCH_SIZE, userRepository::restore);
+            log.info("Restored {} users from {} in {} ms", count, path, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new ServiceException("Failed to read user snapshot '%s': %s".formatted(path, e.getMessage()), e);
+        }
+    }
+
+    @PreDestroy
+    void save() {
+        if (!saveOnShutdown || snapshotPath.isBlank()) {
+            return;
+        }
+        Path path = Path.of(snapshotPath);
+        try (Stream<User> users = userRepository.streamAll()) {
+            Iterator<User> iterator = users.iterator();
+            long count = UserSnapshot.write(path, iterator);
+            log.info("Saved {} users to {}", count, path);
+        } catch (IOException e) {
+            log.error("Failed to write user snapshot {}", path, e);
+        }
+    }
+}
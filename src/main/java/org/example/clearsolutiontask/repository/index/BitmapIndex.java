@@ -0,0 +1,39 @@
+package org.example.clearsolutiontask.repository.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Equality index from a key to the bitmap of ids having that key. Suited to low-cardinality fields and
+ * tokenized text. Not thread-safe; guarded by {@link UserIndex}.
+ */
+final class BitmapIndex<K> {
+
+    private final Map<K, RoaringBitmap> bitmaps = new HashMap<>();
+
+    void add(K key, int id) {
+        bitmaps.computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+    }
+
+    void remove(K key, int id) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the live bitmap for {@code key}, or an empty one; callers must not modify it.
+     */
+    RoaringBitmap get(K key) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        return bitmap == null ? new RoaringBitmap() : bitmap;
+    }
+
+    int keyCount() {
+        return bitmaps.size();
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.clearsolutiontask.repository.index;
+
+import java.util.List;
+
+/**
+ * Explain output of a filter query: the steps in execution order and the number of users they left.
+ *
+ * @param steps       index lookups and intersections first, then predicates checked on the fetched users
+ * @param candidates  ids produced by the index steps, the number of stored users for a full scan, or the rows
+ *                    returned by a database before the remaining predicates were checked
+ * @param matched     users that satisfied every predicate
+ */
+public record QueryPlan(List<Step> steps, long candidates, long matched) {
+
+    public enum Operation {
+        /** Bitmap of one key of an equality or word index. */
+        INDEX_LOOKUP,
+        /** Union of the per-day bitmaps of the birth-date range index. */
+        RANGE_LOOKUP,
+        /** Intersection of the running candidate bitmap with another index bitmap. */
+        INTERSECT,
+        /** Predicate checked on each fetched user instead of through an index. */
+        FILTER,
+        /** No usable index predicate: every stored user is checked. */
+        FULL_SCAN,
+        /** Query run by a database; the predicate holds the database's own plan. */
+        SQL
+    }
+
+    /**
+     * @param estimatedRows rows matching this predicate alone, exact for indexed predicates
+     * @param rowsAfter     candidate rows after the step, or -1 when not known before fetching users
+     */
+    public record Step(Operation operation, String predicate, long estimatedRows, long rowsAfter) {
+    }
+}
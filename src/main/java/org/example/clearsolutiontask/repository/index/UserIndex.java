@@ -0,0 +1,249 @@
+package org.example.clearsolutiontask.repository.index;
+
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
+import org.example.clearsolutiontask.utils.TextTokens;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Secondary indexes over the user store, keyed by user id:
+ * <ul>
+ *     <li>exact first and last name, ignoring case;</li>
+ *     <li>address words, as split by {@link TextTokens#words};</li>
+ *     <li>whether a phone number is present;</li>
+ *     <li>birth date, as an ordered map of per-day bitmaps answering range queries.</li>
+ * </ul>
+ * By default the values indexed for each id are remembered so an entry can be removed after the user was changed
+ * in place; see {@link #UserIndex(boolean)}.
+ * Writers take an exclusive lock per call, so batch methods should be preferred for bulk changes.
+ */
+public class UserIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final boolean rememberEntries;
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final BitmapIndex<String> firstNames = new BitmapIndex<>();
+    private final BitmapIndex<String> lastNames = new BitmapIndex<>();
+    private final BitmapIndex<String> addressWords = new BitmapIndex<>();
+    private final BitmapIndex<Boolean> phoneNumbers = new BitmapIndex<>();
+    private final TreeMap<LocalDate, RoaringBitmap> birthDates = new TreeMap<>();
+    private int size;
+
+    public UserIndex() {
+        this(true);
+    }
+
+    /**
+     * @param rememberEntries whether to keep the indexed values of every user, so that users edited in place can
+     *                        be re-indexed without their previous version. Without them the index costs only its
+     *                        bitmaps, and callers must pass previous versions to {@link #reindex} and
+     *                        {@link #remove}.
+     */
+    public UserIndex(boolean rememberEntries) {
+        this.rememberEntries = rememberEntries;
+    }
+
+    /**
+     * Indexes a new user or, when entries are remembered, re-indexes a changed one.
+     */
+    public void index(User user) {
+        lock.writeLock().lock();
+        try {
+            put(null, user);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<User> users) {
+        lock.writeLock().lock();
+        try {
+            users.forEach(user -> put(null, user));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the indexed values of {@code previous}, {@code null} for a new user, with those of {@code current}.
+     */
+    public void reindex(User previous, User current) {
+        lock.writeLock().lock();
+        try {
+            put(previous, current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void reindexAll(List<User> previous, List<User> current) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < current.size(); i++) {
+                put(previous.get(i), current.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a user given the version that was last indexed.
+     */
+    public void remove(User previous) {
+        lock.writeLock().lock();
+        try {
+            delete(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAll(Collection<User> previous) {
+        lock.writeLock().lock();
+        try {
+            previous.forEach(this::delete);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of users born within the inclusive range; either bound may be {@code null} for an open end.
+     */
+    public RoaringBitmap birthDatesBetween(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return RoaringBitmap.orAll(birthDateRange(from, to).values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Plans and runs the indexed part of a filter query. The result may contain ids that fail the filter, so
+     * callers must still check every fetched user with {@link UserFilter#matches}.
+     */
+    public UserQueryPlanner.Candidates candidates(UserFilter filter) {
+        lock.readLock().lock();
+        try {
+            return new UserQueryPlanner(this).run(filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Accessors for the planner, called with the read lock held. Returned bitmaps are live and read-only.
+
+    RoaringBitmap firstName(String name) {
+        return firstNames.get(TextTokens.normalize(name));
+    }
+
+    RoaringBitmap lastName(String name) {
+        return lastNames.get(TextTokens.normalize(name));
+    }
+
+    RoaringBitmap addressWord(String word) {
+        return addressWords.get(word);
+    }
+
+    RoaringBitmap phoneNumber(boolean present) {
+        return phoneNumbers.get(present);
+    }
+
+    Map<LocalDate, RoaringBitmap> birthDateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null) {
+            return from.isAfter(to) ? Map.of() : birthDates.subMap(from, true, to, true);
+        }
+        if (from != null) {
+            return birthDates.tailMap(from, true);
+        }
+        return to != null ? birthDates.headMap(to, true) : birthDates;
+    }
+
+    private void put(User previous, User current) {
+        int id = toIndexId(current.getId());
+        Entry old = rememberEntries ? entries.remove(id) : previous == null ? null : Entry.of(previous);
+        if (old == null) {
+            size++;
+        } else {
+            unindex(id, old);
+        }
+        Entry entry = Entry.of(current);
+        if (rememberEntries) {
+            entries.put(id, entry);
+        }
+        if (entry.firstName() != null) {
+            firstNames.add(entry.firstName(), id);
+        }
+        if (entry.lastName() != null) {
+            lastNames.add(entry.lastName(), id);
+        }
+        entry.addressWords().forEach(word -> addressWords.add(word, id));
+        phoneNumbers.add(entry.hasPhoneNumber(), id);
+        if (entry.birthDate() != null) {
+            birthDates.computeIfAbsent(entry.birthDate(), date -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void delete(User previous) {
+        int id = toIndexId(previous.getId());
+        Entry old = rememberEntries ? entries.remove(id) : Entry.of(previous);
+        if (old != null) {
+            unindex(id, old);
+            size--;
+        }
+    }
+
+    private void unindex(int id, Entry entry) {
+        if (entry.firstName() != null) {
+            firstNames.remove(entry.firstName(), id);
+        }
+        if (entry.lastName() != null) {
+            lastNames.remove(entry.lastName(), id);
+        }
+        entry.addressWords().forEach(word -> addressWords.remove(word, id));
+        phoneNumbers.remove(entry.hasPhoneNumber(), id);
+        RoaringBitmap day = entry.birthDate() == null ? null : birthDates.get(entry.birthDate());
+        if (day != null) {
+            day.remove(id);
+            if (day.isEmpty()) {
+                birthDates.remove(entry.birthDate());
+            }
+        }
+    }
+
+    private static int toIndexId(long userId) {
+        if (userId < 0 || userId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("User id %d is outside the indexable range".formatted(userId));
+        }
+        return (int) userId;
+    }
+
+    private record Entry(String firstName, String lastName, Set<String> addressWords, boolean hasPhoneNumber,
+                         LocalDate birthDate) {
+
+        static Entry of(User user) {
+            return new Entry(TextTokens.normalize(user.getFirstName()), TextTokens.normalize(user.getLastName()),
+                    TextTokens.words(user.getAddress()), UserFilter.hasPhoneNumber(user), user.getBirthDate());
+        }
+    }
+}
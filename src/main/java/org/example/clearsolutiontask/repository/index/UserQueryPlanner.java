@@ -0,0 +1,121 @@
+package org.example.clearsolutiontask.repository.index;
+
+import org.example.clearsolutiontask.model.UserFilter;
+import org.example.clearsolutiontask.repository.index.QueryPlan.Operation;
+import org.example.clearsolutiontask.repository.index.QueryPlan.Step;
+import org.example.clearsolutiontask.utils.TextTokens;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Turns a {@link UserFilter} into index work. Every indexed predicate is costed by its exact match count, then
+ * the bitmaps are intersected smallest first so each intersection works on the fewest candidates. Intersecting
+ * stops early once so few candidates remain that checking the rest of the predicates on the fetched users is
+ * cheaper; a wide birth-date range is also checked on the users rather than unioned when the candidates are
+ * already much fewer than the users in the range. Predicates without an index ({@code emailContains}) are always
+ * checked on the users. A filter without any indexed predicate, or whose most selective one still matches a large
+ * share of the users, falls back to a full scan.
+ * <p>
+ * Instances are single-use and must be run with the {@link UserIndex} read lock held.
+ */
+public final class UserQueryPlanner {
+
+    // At or below this many candidates the remaining predicates are checked on the fetched users.
+    static final int VERIFY_THRESHOLD = 64;
+    // A range is intersected only while it matches fewer than this many times the current candidates.
+    static final int RANGE_FILTER_RATIO = 8;
+    // When even the most selective predicate matches more than this share of all users, scanning is cheaper.
+    static final double SCAN_FRACTION = 0.25;
+
+    private final UserIndex index;
+
+    UserQueryPlanner(UserIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Result of the index part of a query.
+     *
+     * @param ids ids that may match, or {@code null} when every user has to be scanned
+     */
+    public record Candidates(List<Step> steps, RoaringBitmap ids) {
+
+        public boolean fullScan() {
+            return ids == null;
+        }
+    }
+
+    private record Probe(String predicate, long estimatedRows, boolean range, Supplier<RoaringBitmap> bitmap) {
+    }
+
+    Candidates run(UserFilter filter) {
+        List<Probe> probes = probes(filter);
+        List<Step> steps = new ArrayList<>();
+        RoaringBitmap ids = null;
+        probes.sort(Comparator.comparingLong(Probe::estimatedRows));
+        if (probes.isEmpty() || probes.get(0).estimatedRows() > index.size() * SCAN_FRACTION) {
+            steps.add(new Step(Operation.FULL_SCAN, "*", index.size(), index.size()));
+            probes.forEach(probe -> steps.add(new Step(Operation.FILTER, probe.predicate(), probe.estimatedRows(), -1)));
+        } else {
+            Probe first = probes.get(0);
+            // Lookups return live bitmaps, so the seed is copied before it leaves the lock.
+            ids = first.range() ? first.bitmap().get() : first.bitmap().get().copy();
+            steps.add(new Step(first.range() ? Operation.RANGE_LOOKUP : Operation.INDEX_LOOKUP, first.predicate(),
+                    first.estimatedRows(), ids.cardinality()));
+            for (Probe probe : probes.subList(1, probes.size())) {
+                int candidates = ids.cardinality();
+                if (candidates <= VERIFY_THRESHOLD
+                        || (probe.range() && probe.estimatedRows() > (long) candidates * RANGE_FILTER_RATIO)) {
+                    steps.add(new Step(Operation.FILTER, probe.predicate(), probe.estimatedRows(), -1));
+                } else {
+                    ids = ids.and(probe.bitmap().get());
+                    steps.add(new Step(Operation.INTERSECT, probe.predicate(), probe.estimatedRows(), ids.cardinality()));
+                }
+            }
+        }
+        if (filter.getEmailContains() != null) {
+            steps.add(new Step(Operation.FILTER, "emailContains=" + filter.getEmailContains(), -1, -1));
+        }
+        return new Candidates(List.copyOf(steps), ids);
+    }
+
+    private List<Probe> probes(UserFilter filter) {
+        List<Probe> probes = new ArrayList<>();
+        if (filter.getFirstName() != null) {
+            probes.add(lookup("firstName=" + filter.getFirstName(), index.firstName(filter.getFirstName())));
+        }
+        if (filter.getLastName() != null) {
+            probes.add(lookup("lastName=" + filter.getLastName(), index.lastName(filter.getLastName())));
+        }
+        if (filter.getAddressContains() != null) {
+            for (String word : TextTokens.words(filter.getAddressContains())) {
+                probes.add(lookup("address has " + word, index.addressWord(word)));
+            }
+        }
+        if (filter.getHasPhoneNumber() != null) {
+            probes.add(lookup("hasPhoneNumber=" + filter.getHasPhoneNumber(),
+                    index.phoneNumber(filter.getHasPhoneNumber())));
+        }
+        if (filter.hasBirthDateRange()) {
+            LocalDate from = filter.getBirthDateFrom();
+            LocalDate to = filter.getBirthDateTo();
+            Map<LocalDate, RoaringBitmap> days = index.birthDateRange(from, to);
+            long rows = 0;
+            for (RoaringBitmap day : days.values()) {
+                rows += day.cardinality();
+            }
+            String predicate = "birthDate in [" + (from == null ? "*" : from) + ", " + (to == null ? "*" : to) + "]";
+            probes.add(new Probe(predicate, rows, true, () -> RoaringBitmap.orAll(days.values())));
+        }
+        return probes;
+    }
+
+    private static Probe lookup(String predicate, RoaringBitmap bitmap) {
+        return new Probe(predicate, bitmap.cardinality(), false, () -> bitmap);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.clearsolutiontask.repository.storage;
+
+import org.example.clearsolutiontask.dto.StorageStatsDto;
+import org.example.clearsolutiontask.model.User;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Every user on heap in a concurrent map; reads return the stored instances.
+ */
+public class HeapUserStore implements UserStore {
+
+    private final ConcurrentHashMap<Long, User> users = new ConcurrentHashMap<>();
+
+    @Override
+    public User get(long id) {
+        return users.get(id);
+    }
+
+    @Override
+    public User read(long id) {
+        return users.get(id);
+    }
+
+    @Override
+    public boolean contains(long id) {
+        return users.containsKey(id);
+    }
+
+    @Override
+    public User put(User user) {
+        return users.put(user.getId(), user);
+    }
+
+    @Override
+    public User remove(long id) {
+        return users.remove(id);
+    }
+
+    @Override
+    public long size() {
+        return users.size();
+    }
+
+    @Override
+    public Stream<User> stream() {
+        return users.values().stream();
+    }
+
+    @Override
+    public boolean detachesReads() {
+        return false;
+    }
+
+    @Override
+    public StorageStatsDto stats() {
+        return StorageStatsDto.builder()
+                .mode("heap")
+                .users(users.size())
+                .hotEntries(users.size())
+                .build();
+    }
+
+    @Override
+    public void close() {
+        users.clear();
+    }
+}
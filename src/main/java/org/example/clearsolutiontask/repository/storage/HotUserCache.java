@@ -0,0 +1,110 @@
+package org.example.clearsolutiontask.repository.storage;
+
+import org.example.clearsolutiontask.model.User;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded LRU of decoded users, split into independently locked stripes by id so concurrent lookups of
+ * different users rarely contend. Each stripe evicts on its own, which keeps the total within
+ * {@code maxEntries} while only approximating global LRU order.
+ */
+final class HotUserCache {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongAdder evictions = new LongAdder();
+    private final int maxEntries;
+
+    HotUserCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        int perStripe = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    User get(long id) {
+        Stripe stripe = stripe(id);
+        synchronized (stripe) {
+            return stripe.get(id);
+        }
+    }
+
+    /**
+     * Replaces the cached version of a user that is already hot; a write never makes a user hot by itself.
+     */
+    void replace(long id, User user) {
+        Stripe stripe = stripe(id);
+        synchronized (stripe) {
+            stripe.replace(id, user);
+        }
+    }
+
+    /**
+     * Caches a user faulted in from the cold tier unless a newer version was cached meanwhile.
+     */
+    void putIfAbsent(long id, User user) {
+        Stripe stripe = stripe(id);
+        synchronized (stripe) {
+            stripe.putIfAbsent(id, user);
+        }
+    }
+
+    void remove(long id) {
+        Stripe stripe = stripe(id);
+        synchronized (stripe) {
+            stripe.remove(id);
+        }
+    }
+
+    void remove(long id, User user) {
+        Stripe stripe = stripe(id);
+        synchronized (stripe) {
+            stripe.remove(id, user);
+        }
+    }
+
+    long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    int capacity() {
+        return maxEntries;
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    private Stripe stripe(long id) {
+        return stripes[(int) (id ^ (id >>> 32)) & (STRIPES - 1)];
+    }
+
+    private final class Stripe extends LinkedHashMap<Long, User> {
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, User> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
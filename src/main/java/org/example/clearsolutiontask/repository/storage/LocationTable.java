@@ -0,0 +1,61 @@
+package org.example.clearsolutiontask.repository.storage;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Dense id to record location map, eight bytes per id in pages that are allocated as ids grow. Ids are handed
+ * out sequentially, so a hash map would only add per-entry overhead. Location {@code 0} means absent.
+ */
+final class LocationTable {
+
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private volatile AtomicLongArray[] pages = new AtomicLongArray[0];
+
+    long get(long id) {
+        AtomicLongArray[] current = pages;
+        int page = page(id);
+        return page < current.length ? current[page].get(slot(id)) : 0;
+    }
+
+    long getAndSet(long id, long location) {
+        return pageFor(id).getAndSet(slot(id), location);
+    }
+
+    /**
+     * Upper bound of the ids ever stored, for scans.
+     */
+    long capacity() {
+        return (long) pages.length << PAGE_BITS;
+    }
+
+    private AtomicLongArray pageFor(long id) {
+        int page = page(id);
+        AtomicLongArray[] current = pages;
+        if (page < current.length) {
+            return current[page];
+        }
+        synchronized (this) {
+            current = pages;
+            if (page >= current.length) {
+                AtomicLongArray[] grown = Arrays.copyOf(current, page + 1);
+                for (int i = current.length; i < grown.length; i++) {
+                    grown[i] = new AtomicLongArray(PAGE_SIZE);
+                }
+                pages = grown;
+                current = grown;
+            }
+            return current[page];
+        }
+    }
+
+    private static int page(long id) {
+        return Math.toIntExact(id >>> PAGE_BITS);
+    }
+
+    private static int slot(long id) {
+        return (int) (id & (PAGE_SIZE - 1));
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.clearsolutiontask.repository.storage;
+
+import org.example.clearsolutiontask.exception.ServiceException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only log of length-prefixed records in fixed-size memory-mapped segment files. The page cache, not
+ * the Java heap, holds the data, and the OS pages cold segments out under memory pressure.
+ * <p>
+ * A location packs {@code segment + 1} into the high 32 bits and the offset into the low 32 bits, so
+ * {@code 0} is never a valid location. Appends are serialized; reads are lock-free and safe for any location
+ * published after its append returned.
+ */
+final class MappedSegments {
+
+    private final Path directory;
+    private final int segmentSize;
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private int writeOffset;
+    private volatile long bytesWritten;
+
+    MappedSegments(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    synchronized long append(byte[] record) {
+        int length = Integer.BYTES + record.length;
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Record of %d bytes exceeds the segment size".formatted(record.length));
+        }
+        if (segments.length == 0 || writeOffset + length > segmentSize) {
+            addSegment();
+        }
+        int segment = segments.length - 1;
+        MappedByteBuffer buffer = segments[segment];
+        buffer.putInt(writeOffset, record.length);
+        buffer.put(writeOffset + Integer.BYTES, record);
+        long location = ((long) (segment + 1) << 32) | writeOffset;
+        writeOffset += length;
+        bytesWritten += length;
+        return location;
+    }
+
+    /**
+     * Copies the record at {@code location} into a heap buffer positioned at its first byte.
+     */
+    ByteBuffer read(long location) {
+        MappedByteBuffer segment = segments[(int) (location >>> 32) - 1];
+        int offset = (int) location;
+        byte[] record = new byte[segment.getInt(offset)];
+        segment.get(offset + Integer.BYTES, record);
+        return ByteBuffer.wrap(record);
+    }
+
+    int recordBytes(long location) {
+        return Integer.BYTES + segments[(int) (location >>> 32) - 1].getInt((int) location);
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+
+    long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Deletes the segment files. The mappings stay valid until they are garbage collected, but no location
+     * may be read afterwards.
+     */
+    synchronized void close() {
+        for (int i = 0; i < segments.length; i++) {
+            try {
+                Files.deleteIfExists(segmentPath(i));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        segments = new MappedByteBuffer[0];
+    }
+
+    private void addSegment() {
+        int index = segments.length;
+        try (FileChannel channel = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            MappedByteBuffer[] grown = Arrays.copyOf(segments, index + 1);
+            grown[index] = buffer;
+            segments = grown;
+            writeOffset = 0;
+        } catch (IOException e) {
+            throw new ServiceException("Failed to map cold segment " + segmentPath(index), e);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve("segment-%05d.dat".formatted(index));
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.clearsolutiontask.repository.storage;
+
+import org.example.clearsolutiontask.dto.StorageStatsDto;
+import org.example.clearsolutiontask.model.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier store keeping heap usage bounded as the number of users grows:
+ * <ul>
+ *     <li>hot: recently looked-up users, decoded, in a size-bounded LRU;</li>
+ *     <li>cold: every user, encoded compactly in memory-mapped segment files.</li>
+ * </ul>
+ * Writes go through to the cold tier, so evicting a hot user is free and the cold tier is always complete.
+ * A point lookup that misses the hot tier faults the user in from its segment. Only those faults make users hot;
+ * writes refresh users that are already hot, so bulk imports and updates do not push out the read set. On heap, each user costs only
+ * its eight-byte location unless it is hot.
+ * <p>
+ * Rewritten and removed records stay in their segments as dead bytes; segments are not compacted, so a
+ * write-heavy workload grows the files until restart. Segment files are scratch space and are deleted on close;
+ * durability across restarts is the snapshot's job.
+ */
+public class TieredUserStore implements UserStore {
+
+    private static final int WRITE_LOCKS = 64;
+
+    private final HotUserCache hot;
+    private final MappedSegments cold;
+    private final LocationTable locations = new LocationTable();
+    private final Object[] writeLocks = new Object[WRITE_LOCKS];
+    private final Path directory;
+    private final boolean temporaryDirectory;
+
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong deadBytes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder faults = new LongAdder();
+    private final LongAdder faultNanos = new LongAdder();
+    private final AtomicLong maxFaultNanos = new AtomicLong();
+
+    private TieredUserStore(Path directory, boolean temporaryDirectory, int hotMaxEntries, int segmentSize) {
+        this.directory = directory;
+        this.temporaryDirectory = temporaryDirectory;
+        this.hot = new HotUserCache(hotMaxEntries);
+        this.cold = new MappedSegments(directory, segmentSize);
+        for (int i = 0; i < WRITE_LOCKS; i++) {
+            writeLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Opens an empty store whose segments live in {@code directory}, or in a temporary directory when it is blank.
+     */
+    public static TieredUserStore open(String directory, int hotMaxEntries, int segmentSize) {
+        try {
+            if (directory == null || directory.isBlank()) {
+                return new TieredUserStore(Files.createTempDirectory("users-cold-"), true, hotMaxEntries, segmentSize);
+            }
+            return new TieredUserStore(Files.createDirectories(Path.of(directory)), false, hotMaxEntries, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create cold storage directory " + directory, e);
+        }
+    }
+
+    @Override
+    public User get(long id) {
+        User cached = hot.get(id);
+        if (cached != null) {
+            hits.increment();
+            return UserRecordCodec.copy(cached);
+        }
+        long location = locations.get(id);
+        if (location == 0) {
+            return null;
+        }
+        long start = System.nanoTime();
+        User user = decode(location);
+        hot.putIfAbsent(id, user);
+        // A write may have replaced the record while it was being decoded; never leave the stale version hot.
+        if (locations.get(id) != location) {
+            hot.remove(id, user);
+        }
+        long elapsed = System.nanoTime() - start;
+        faults.increment();
+        faultNanos.add(elapsed);
+        maxFaultNanos.accumulateAndGet(elapsed, Math::max);
+        return UserRecordCodec.copy(user);
+    }
+
+    /**
+     * Decodes straight from the cold tier, which is always current, without touching the hot LRU order.
+     */
+    @Override
+    public User read(long id) {
+        long location = locations.get(id);
+        return location == 0 ? null : decode(location);
+    }
+
+    @Override
+    public boolean contains(long id) {
+        return locations.get(id) != 0;
+    }
+
+    @Override
+    public User put(User user) {
+        long id = user.getId();
+        byte[] record = UserRecordCodec.encode(user);
+        synchronized (writeLock(id)) {
+            long previous = locations.getAndSet(id, cold.append(record));
+            hot.replace(id, UserRecordCodec.copy(user));
+            if (previous == 0) {
+                size.incrementAndGet();
+                return null;
+            }
+            deadBytes.addAndGet(cold.recordBytes(previous));
+            return decode(previous);
+        }
+    }
+
+    @Override
+    public User remove(long id) {
+        synchronized (writeLock(id)) {
+            long previous = locations.getAndSet(id, 0);
+            hot.remove(id);
+            if (previous == 0) {
+                return null;
+            }
+            size.decrementAndGet();
+            deadBytes.addAndGet(cold.recordBytes(previous));
+            return decode(previous);
+        }
+    }
+
+    @Override
+    public long size() {
+        return size.get();
+    }
+
+    @Override
+    public Stream<User> stream() {
+        return LongStream.range(1, locations.capacity())
+                .mapToObj(this::read)
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public boolean detachesReads() {
+        return true;
+    }
+
+    @Override
+    public StorageStatsDto stats() {
+        long hitCount = hits.sum();
+        long faultCount = faults.sum();
+        long lookups = hitCount + faultCount;
+        return StorageStatsDto.builder()
+                .mode("tiered")
+                .users(size.get())
+                .hotEntries(hot.size())
+                .hotCapacity(hot.capacity())
+                .hits(hitCount)
+                .faults(faultCount)
+                .hitRatio(lookups == 0 ? 0 : (double) hitCount / lookups)
+                .evictions(hot.evictions())
+                .averageFaultMicros(faultCount == 0 ? 0 : faultNanos.sum() / 1e3 / faultCount)
+                .maxFaultMicros(maxFaultNanos.get() / 1e3)
+                .coldSegments(cold.segmentCount())
+                .coldBytes(cold.bytesWritten())
+                .deadBytes(deadBytes.get())
+                .build();
+    }
+
+    @Override
+    public void close() {
+        cold.close();
+        if (temporaryDirectory) {
+            try {
+                Files.deleteIfExists(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private User decode(long location) {
+        return UserRecordCodec.decode(cold.read(location));
+    }
+
+    private Object writeLock(long id) {
+        return writeLocks[(int) (id & (WRITE_LOCKS - 1))];
+    }
+}
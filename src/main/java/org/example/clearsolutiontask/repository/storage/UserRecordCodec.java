@@ -0,0 +1,83 @@
+package org.example.clearsolutiontask.repository.storage;
+
+import org.example.clearsolutiontask.model.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Binary form of a user in cold segments: {@code long id, long epochDay} and five length-prefixed UTF-8 strings,
+ * {@code -1} for null, in the same field order as the snapshot format.
+ */
+final class UserRecordCodec {
+
+    private static final int FIXED_BYTES = Long.BYTES * 2 + Integer.BYTES * 5;
+
+    private UserRecordCodec() {
+    }
+
+    static byte[] encode(User user) {
+        byte[][] strings = {
+                bytes(user.getEmail()),
+                bytes(user.getFirstName()),
+                bytes(user.getLastName()),
+                bytes(user.getAddress()),
+                bytes(user.getPhoneNumber())
+        };
+        int length = FIXED_BYTES;
+        for (byte[] string : strings) {
+            length += string == null ? 0 : string.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putLong(user.getId());
+        buffer.putLong(user.getBirthDate().toEpochDay());
+        for (byte[] string : strings) {
+            if (string == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(string.length);
+                buffer.put(string);
+            }
+        }
+        return buffer.array();
+    }
+
+    static User decode(ByteBuffer buffer) {
+        return User.builder()
+                .id(buffer.getLong())
+                .birthDate(LocalDate.ofEpochDay(buffer.getLong()))
+                .email(string(buffer))
+                .firstName(string(buffer))
+                .lastName(string(buffer))
+                .address(string(buffer))
+                .phoneNumber(string(buffer))
+                .build();
+    }
+
+    static User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .birthDate(user.getBirthDate())
+                .address(user.getAddress())
+                .phoneNumber(user.getPhoneNumber())
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
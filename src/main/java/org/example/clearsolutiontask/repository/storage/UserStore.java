@@ -0,0 +1,55 @@
+package org.example.clearsolutiontask.repository.storage;
+
+import org.example.clearsolutiontask.dto.StorageStatsDto;
+import org.example.clearsolutiontask.model.User;
+
+import java.io.Closeable;
+import java.util.stream.Stream;
+
+/**
+ * Primary storage of users by id, beneath the repository's indexes.
+ */
+public interface UserStore extends Closeable {
+
+    /**
+     * Point lookup; may promote the user into a faster tier.
+     */
+    User get(long id);
+
+    /**
+     * Lookup for scans; unlike {@link #get} it leaves tiering untouched, so a large scan does not flush the
+     * users that are actually hot.
+     */
+    User read(long id);
+
+    boolean contains(long id);
+
+    /**
+     * Stores the user and returns the version it replaced, or {@code null} for a new user.
+     */
+    User put(User user);
+
+    /**
+     * Removes the user and returns the removed version, or {@code null} if there was none.
+     */
+    User remove(long id);
+
+    long size();
+
+    /**
+     * Lazily streams every stored user without promoting any of them.
+     */
+    Stream<User> stream();
+
+    /**
+     * Whether returned users are detached copies. If so, the version returned by {@link #put} or
+     * {@link #remove} is the one previously stored even when the caller edited a read user in place, and
+     * the caller has to {@link #put} edits for them to take effect.
+     */
+    boolean detachesReads();
+
+    StorageStatsDto stats();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,178 @@
+package org.example.clearsolutiontask.service;
+
+import org.example.clearsolutiontask.dto.SearchCacheStatsDto;
+import org.example.clearsolutiontask.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of birth-date range search results.
+ * <p>
+ * Entries hold futures, so concurrent identical searches are coalesced into a single repository pass: the
+ * first caller computes, the others wait for its result. Ranges are exclusive on both ends, like
+ * {@code UserRepository.findByBirthDateBetween}, and an entry is only invalidated by a write whose old or
+ * new birth date falls inside it. Writes must invalidate after they are applied to the repository, so that
+ * an in-flight computation that may have missed the write is dropped rather than cached.
+ */
+@Component
+public class SearchResultCache {
+
+    private final int maxEntries;
+    private final Map<DateRange, CompletableFuture<List<User>>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+
+    public SearchResultCache(@Value("${user.search.cache.max-entries:256}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public List<User> get(LocalDate fromDate, LocalDate toDate, Supplier<List<User>> loader) {
+        long start = System.nanoTime();
+        DateRange key = new DateRange(fromDate, toDate);
+        CompletableFuture<List<User>> future;
+        boolean owner = false;
+        synchronized (this) {
+            future = entries.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                entries.put(key, future);
+                owner = true;
+                evictOverflow();
+            }
+        }
+        try {
+            if (owner) {
+                misses.increment();
+                return load(key, future, loader);
+            }
+            if (future.isDone()) {
+                hits.increment();
+            } else {
+                coalesced.increment();
+            }
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            latencyNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public void invalidate(LocalDate birthDate) {
+        invalidateIf(range -> range.contains(birthDate));
+    }
+
+    /**
+     * Invalidates entries affected by a write moving a user from {@code oldBirthDate} to {@code newBirthDate}.
+     * Ranges containing the user are invalidated even when the birth date is unchanged: cached lists hold the
+     * users as they were read, which are detached copies with tiered or JDBC storage.
+     */
+    public void invalidateChange(LocalDate oldBirthDate, LocalDate newBirthDate) {
+        invalidateIf(range -> range.contains(oldBirthDate) || range.contains(newBirthDate));
+    }
+
+    public void invalidateAll(Collection<LocalDate> birthDates) {
+        NavigableSet<LocalDate> dates = new TreeSet<>(birthDates);
+        invalidateIf(range -> {
+            LocalDate next = dates.higher(range.from());
+            return next != null && next.isBefore(range.to());
+        });
+    }
+
+    /**
+     * Invalidates every entry whose range overlaps the inclusive range {@code [fromDate, toDate]}; a
+     * {@code null} bound is open.
+     */
+    public void invalidateOverlapping(LocalDate fromDate, LocalDate toDate) {
+        invalidateIf(range -> (fromDate == null || range.to().isAfter(fromDate))
+                && (toDate == null || range.from().isBefore(toDate)));
+    }
+
+    public synchronized SearchCacheStatsDto stats() {
+        long hitCount = hits.sum();
+        long coalescedCount = coalesced.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + coalescedCount + missCount;
+        return SearchCacheStatsDto.builder()
+                .requests(requests)
+                .hits(hitCount)
+                .coalesced(coalescedCount)
+                .misses(missCount)
+                .hitRate(requests == 0 ? 0 : (double) (hitCount + coalescedCount) / requests)
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .size(entries.size())
+                .averageLatencyMicros(requests == 0 ? 0 : latencyNanos.sum() / 1e3 / requests)
+                .averageLoadMillis(missCount == 0 ? 0 : loadNanos.sum() / 1e6 / missCount)
+                .maxLoadMillis(maxLoadNanos.get() / 1e6)
+                .build();
+    }
+
+    private List<User> load(DateRange key, CompletableFuture<List<User>> future, Supplier<List<User>> loader) {
+        long start = System.nanoTime();
+        try {
+            List<User> result = List.copyOf(loader.get());
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                entries.remove(key, future);
+            }
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            loadNanos.add(elapsed);
+            maxLoadNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private synchronized void invalidateIf(Predicate<DateRange> affected) {
+        Iterator<DateRange> iterator = entries.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (affected.test(iterator.next())) {
+                iterator.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<DateRange> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private record DateRange(LocalDate from, LocalDate to) {
+
+        boolean contains(LocalDate date) {
+            return date != null && date.isAfter(from) && date.isBefore(to);
+        }
+    }
+}
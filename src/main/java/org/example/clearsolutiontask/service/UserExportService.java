@@ -0,0 +1,137 @@
+package org.example.clearsolutiontask.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.clearsolutiontask.dto.UserBatchDto;
+import org.example.clearsolutiontask.exception.ServiceException;
+import org.example.clearsolutiontask.model.BulkFormat;
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.repository.UserRepository;
+import org.example.clearsolutiontask.utils.CsvUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writes users to CSV or NDJSON one row at a time straight from the repository, so an export never
+ * holds more than a single record in memory.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+    static final String CSV_HEADER = "id,email,firstName,lastName,birthDate,address,phoneNumber";
+
+    private final UserRepository userRepository;
+    private final JsonFactory jsonFactory;
+    private final ObjectWriter userWriter;
+
+    public UserExportService(UserRepository userRepository, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.jsonFactory = objectMapper.getFactory();
+        this.userWriter = objectMapper.writerFor(User.class);
+    }
+
+    /**
+     * Exports all users, or only those born strictly between {@code fromDate} and {@code toDate} when both
+     * are given, and returns the number of rows written. The stream is flushed but not closed.
+     */
+    public long export(OutputStream output, BulkFormat format, LocalDate fromDate, LocalDate toDate) {
+        long startNanos = System.nanoTime();
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 1 << 16);
+        try (Stream<User> users = fromDate == null ? userRepository.streamAll()
+                : userRepository.streamByBirthDateBetween(fromDate, toDate)) {
+            if (format == BulkFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            StringBuilder row = new StringBuilder(256);
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                row.setLength(0);
+                User user = iterator.next();
+                if (format == BulkFormat.CSV) {
+                    appendCsv(row, user);
+                } else {
+                    row.append(userWriter.writeValueAsString(user));
+                }
+                row.append('\n');
+                writer.append(row);
+                rows++;
+            }
+            writer.flush();
+        } catch (IOException | UncheckedIOException e) {
+            throw new ServiceException("Failed to write export stream: " + e.getMessage(), e);
+        }
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+        log.info("Exported {} rows in {} ms ({} rows/s)",
+                rows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        return rows;
+    }
+
+    /**
+     * Exports like {@link #export} into a file, creating or truncating it.
+     */
+    public long exportToFile(Path path, BulkFormat format, LocalDate fromDate, LocalDate toDate) {
+        try (OutputStream output = Files.newOutputStream(path)) {
+            return export(output, format, fromDate, toDate);
+        } catch (IOException e) {
+            throw new ServiceException("Failed to write export file '%s': %s".formatted(path, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Writes a batch lookup as {@code {"users":[...],"missing":[...]}}, serializing one user at a time into the
+     * stream. The stream is flushed but not closed.
+     */
+    public void writeBatch(OutputStream output, UserBatchDto batch) {
+        try (JsonGenerator generator = jsonFactory.createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("users");
+            for (User user : batch.getUsers()) {
+                userWriter.writeValue(generator, user);
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("missing");
+            for (Long userId : batch.getMissing()) {
+                generator.writeNumber(userId);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new ServiceException("Failed to write batch lookup: " + e.getMessage(), e);
+        }
+    }
+
+    private static void appendCsv(StringBuilder row, User user) {
+        row.append(user.getId()).append(',');
+        CsvUtils.appendField(row, user.getEmail());
+        row.append(',');
+        CsvUtils.appendField(row, user.getFirstName());
+        row.append(',');
+        CsvUtils.appendField(row, user.getLastName());
+        row.append(',');
+        row.append(user.getBirthDate());
+        row.append(',');
+        CsvUtils.appendField(row, user.getAddress());
+        row.append(',');
+        CsvUtils.appendField(row, user.getPhoneNumber());
+    }
+}
@@ -0,0 +1,346 @@
+package org.example.clearsolutiontask.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.clearsolutiontask.dto.EditUserDto;
+import org.example.clearsolutiontask.dto.ImportErrorDto;
+import org.example.clearsolutiontask.dto.ImportResultDto;
+import org.example.clearsolutiontask.exception.ServiceException;
+import org.example.clearsolutiontask.exception.ValidationException;
+import org.example.clearsolutiontask.model.BulkFormat;
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.repository.UserRepository;
+import org.example.clearsolutiontask.utils.CsvUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Streams CSV or NDJSON user records into the repository. The input is read sequentially and cut into
+ * chunks that are parsed, validated and saved in parallel; at most {@code 2 * parallelism} chunks are in
+ * flight at a time, so memory stays bounded regardless of the input size. A CSV record with an open quoted field
+ * is buffered over at most {@code maxRecordLines} lines; a record whose quote is still open after that, or at the
+ * end of the input, is rejected at its first line and the lines after it are read again as new records.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final SearchResultCache searchResultCache;
+    private final Validator validator;
+    private final ObjectReader userDtoReader;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final int maxRecordLines;
+    private final int maxChunksInFlight;
+    private final ExecutorService executor;
+
+    public UserImportService(UserService userService,
+                             UserRepository userRepository,
+                             SearchResultCache searchResultCache,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             @Value("${user.import.chunk-size:5000}") int chunkSize,
+                             @Value("${user.import.parallelism:0}") int parallelism,
+                             @Value("${user.import.max-reported-errors:100}") int maxReportedErrors,
+                             @Value("${user.import.max-record-lines:100}") int maxRecordLines) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.searchResultCache = searchResultCache;
+        this.validator = validator;
+        this.userDtoReader = objectMapper.readerFor(EditUserDto.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxRecordLines = maxRecordLines;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxChunksInFlight = threads * 2;
+        this.executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("user-import-", 0).daemon().factory());
+    }
+
+    public ImportResultDto importUsers(InputStream input, BulkFormat format) {
+        long startNanos = System.nanoTime();
+        ImportJob job = new ImportJob();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16)) {
+            RecordReader records = new RecordReader(reader, format == BulkFormat.CSV);
+            RecordParser parser = this::parseNdjson;
+            if (format == BulkFormat.CSV) {
+                String header = records.readLine();
+                if (header == null) {
+                    return job.toResult(startNanos);
+                }
+                parser = csvParser(header);
+            }
+
+            List<SourceRecord> chunk = new ArrayList<>(chunkSize);
+            SourceRecord record;
+            while ((record = records.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    submit(job, parser, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(job, parser, chunk);
+            }
+        } catch (IOException e) {
+            throw new ServiceException("Failed to read import stream: " + e.getMessage(), e);
+        } finally {
+            job.awaitCompletion();
+        }
+        return job.toResult(startNanos);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(ImportJob job, RecordParser parser, List<SourceRecord> records) {
+        job.acquireSlot();
+        try {
+            executor.execute(() -> {
+                try {
+                    processChunk(job, parser, records);
+                } catch (RuntimeException e) {
+                    job.fail(e);
+                } finally {
+                    job.releaseSlot();
+                }
+            });
+        } catch (RuntimeException e) {
+            job.releaseSlot();
+            throw e;
+        }
+    }
+
+    private void processChunk(ImportJob job, RecordParser parser, List<SourceRecord> records) {
+        List<User> valid = new ArrayList<>(records.size());
+        for (SourceRecord record : records) {
+            if (record.text().isBlank()) {
+                continue;
+            }
+            job.rowsRead.increment();
+            long lineNumber = record.line();
+            try {
+                EditUserDto userDto = parser.parse(record.text());
+                if (userDto == null) {
+                    job.reject(lineNumber, "Malformed record");
+                    continue;
+                }
+                Set<ConstraintViolation<EditUserDto>> violations = validator.validate(userDto);
+                if (!violations.isEmpty()) {
+                    job.reject(lineNumber, describe(violations));
+                    continue;
+                }
+                valid.add(userService.toNewUser(userDto));
+            } catch (ValidationException e) {
+                job.reject(lineNumber, e.getMessage());
+            } catch (IOException | IllegalArgumentException | DateTimeException e) {
+                job.reject(lineNumber, "Malformed record");
+            }
+        }
+        if (!valid.isEmpty()) {
+            userRepository.saveAll(valid);
+            searchResultCache.invalidateAll(valid.stream().map(User::getBirthDate).toList());
+            job.imported.add(valid.size());
+        }
+    }
+
+    private EditUserDto parseNdjson(String line) throws IOException {
+        return userDtoReader.readValue(line);
+    }
+
+    private RecordParser csvParser(String header) {
+        if (header.startsWith(BYTE_ORDER_MARK)) {
+            header = header.substring(1);
+        }
+        List<String> columns = CsvUtils.parseLine(header).stream().map(String::trim).toList();
+        int email = columns.indexOf("email");
+        int firstName = columns.indexOf("firstName");
+        int lastName = columns.indexOf("lastName");
+        int birthDate = columns.indexOf("birthDate");
+        int address = columns.indexOf("address");
+        int phoneNumber = columns.indexOf("phoneNumber");
+        return line -> {
+            List<String> fields = CsvUtils.parseLine(line);
+            String birthDateValue = field(fields, birthDate);
+            return EditUserDto.builder()
+                    .email(field(fields, email))
+                    .firstName(field(fields, firstName))
+                    .lastName(field(fields, lastName))
+                    .birthDate(birthDateValue == null ? null : LocalDate.parse(birthDateValue))
+                    .address(field(fields, address))
+                    .phoneNumber(field(fields, phoneNumber))
+                    .build();
+        };
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static String describe(Set<ConstraintViolation<EditUserDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * One input record and the line it starts on; a CSV record may span several lines.
+     */
+    private record SourceRecord(long line, String text) {
+    }
+
+    /**
+     * Reads records line by line; a CSV record continues over the following lines while a quoted field is open.
+     * Lines taken for a record that is then given up are pushed back and read again.
+     */
+    private class RecordReader {
+        private final BufferedReader reader;
+        private final boolean csv;
+        private final Deque<String> pushedBack = new ArrayDeque<>();
+        private long lineNumber;
+
+        RecordReader(BufferedReader reader, boolean csv) {
+            this.reader = reader;
+            this.csv = csv;
+        }
+
+        String readLine() throws IOException {
+            String line = pushedBack.isEmpty() ? reader.readLine() : pushedBack.pollFirst();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        }
+
+        SourceRecord next() throws IOException {
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            long firstLine = lineNumber;
+            if (!csv || !CsvUtils.endsQuoted(line, false)) {
+                return new SourceRecord(firstLine, line);
+            }
+            List<String> continuation = new ArrayList<>();
+            boolean quoted = true;
+            String next;
+            while (quoted && continuation.size() + 1 < maxRecordLines && (next = readLine()) != null) {
+                continuation.add(next);
+                quoted = CsvUtils.endsQuoted(next, true);
+            }
+            if (quoted) {
+                // Unterminated or too long: the first line alone fails to parse, the rest are read again.
+                for (int i = continuation.size() - 1; i >= 0; i--) {
+                    pushedBack.addFirst(continuation.get(i));
+                }
+                lineNumber = firstLine;
+                return new SourceRecord(firstLine, line);
+            }
+            continuation.add(0, line);
+            return new SourceRecord(firstLine, String.join("\n", continuation));
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordParser {
+        EditUserDto parse(String line) throws IOException;
+    }
+
+    private class ImportJob {
+        private final Semaphore slots = new Semaphore(maxChunksInFlight);
+        private final LongAdder rowsRead = new LongAdder();
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final AtomicInteger reportedErrors = new AtomicInteger();
+        private final ConcurrentLinkedQueue<ImportErrorDto> errors = new ConcurrentLinkedQueue<>();
+        private volatile RuntimeException failure;
+
+        void acquireSlot() {
+            if (failure != null) {
+                throw new ServiceException("Import aborted: " + failure.getMessage(), failure);
+            }
+            try {
+                slots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceException("Import interrupted", e);
+            }
+        }
+
+        void releaseSlot() {
+            slots.release();
+        }
+
+        void awaitCompletion() {
+            slots.acquireUninterruptibly(maxChunksInFlight);
+            slots.release(maxChunksInFlight);
+        }
+
+        void reject(long line, String message) {
+            rejected.increment();
+            if (reportedErrors.getAndIncrement() < maxReportedErrors) {
+                errors.add(new ImportErrorDto(line, message));
+            }
+        }
+
+        void fail(RuntimeException e) {
+            log.error("Import chunk failed", e);
+            failure = e;
+        }
+
+        ImportResultDto toResult(long startNanos) {
+            if (failure != null) {
+                throw new ServiceException("Import aborted: " + failure.getMessage(), failure);
+            }
+            long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+            long rows = rowsRead.sum();
+            long rowsPerSecond = rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+            log.info("Imported {} of {} rows in {} ms ({} rows/s)",
+                    imported.sum(), rows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+            return ImportResultDto.builder()
+                    .rowsRead(rows)
+                    .imported(imported.sum())
+                    .rejected(rejected.sum())
+                    .errors(errors.stream().sorted(Comparator.comparingLong(ImportErrorDto::getLine)).toList())
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .rowsPerSecond(rowsPerSecond)
+                    .build();
+        }
+    }
+}
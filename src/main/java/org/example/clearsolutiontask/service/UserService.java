@@ -1,19 +1,29 @@
 package org.example.clearsolutiontask.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.clearsolutiontask.dto.BulkPatchDto;
+import org.example.clearsolutiontask.dto.BulkResultDto;
 import org.example.clearsolutiontask.dto.EditUserDto;
 import org.example.clearsolutiontask.dto.GetUserDto;
+import org.example.clearsolutiontask.dto.StorageStatsDto;
+import org.example.clearsolutiontask.dto.UserBatchDto;
 import org.example.clearsolutiontask.exception.UserNotFoundException;
 import org.example.clearsolutiontask.exception.ValidationException;
 import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
 import org.example.clearsolutiontask.repository.UserRepository;
+import org.example.clearsolutiontask.repository.index.QueryPlan;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -22,16 +32,29 @@ public class UserService {
     @Value("${user.age.min}")
     private int minUserAge;
 
+    @Value("${user.batch-get.max-ids:200}")
+    private int maxBatchIds;
+
     private final UserRepository userRepository;
+    private final SearchResultCache searchResultCache;
 
 
     public void createUser(EditUserDto userDto) {
+        User user = toNewUser(userDto);
+        userRepository.save(user);
+        searchResultCache.invalidate(user.getBirthDate());
+    }
+
+    /**
+     * Applies the creation rules to an already bean-validated dto and builds the user to store.
+     */
+    User toNewUser(EditUserDto userDto) {
         long age = ChronoUnit.YEARS.between(userDto.getBirthDate(), LocalDate.now());
         if (age < minUserAge) {
             throw new ValidationException("User must be older than 18 age");
         }
 
-        User user = User.builder()
+        return User.builder()
                 .firstName(userDto.getFirstName())
                 .lastName(userDto.getLastName())
                 .email(userDto.getEmail())
@@ -39,31 +62,15 @@ public class UserService {
                 .address(userDto.getAddress())
                 .phoneNumber(userDto.getPhoneNumber())
                 .build();
-        userRepository.save(user);
     }
 
     public GetUserDto patchUser(Long userId, EditUserDto userDto) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-        if (userDto.getEmail() != null) {
-            user.setEmail(userDto.getEmail());
-        }
-        if (userDto.getFirstName() != null) {
-            user.setFirstName(userDto.getFirstName());
-        }
-        if (userDto.getLastName() != null) {
-            user.setLastName(userDto.getLastName());
-        }
-        if (userDto.getBirthDate() != null) {
-            user.setBirthDate(userDto.getBirthDate());
-        }
-        if (userDto.getAddress() != null) {
-            user.setAddress(userDto.getAddress());
-        }
-        if (userDto.getPhoneNumber() != null) {
-            user.setPhoneNumber(userDto.getPhoneNumber());
-        }
+        LocalDate previousBirthDate = user.getBirthDate();
+        applyPatch(user, userDto);
         user.setId(userId);
         user = userRepository.update(user);
+        searchResultCache.invalidateChange(previousBirthDate, user.getBirthDate());
         return GetUserDto.builder()
                 .id(user.getId())
                 .firstName(user.getFirstName())
@@ -77,6 +84,7 @@ public class UserService {
 
     public GetUserDto updateUser(Long userId, EditUserDto userDto) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        LocalDate previousBirthDate = user.getBirthDate();
         user.setId(userId);
         user.setEmail(userDto.getEmail());
         user.setFirstName(userDto.getFirstName());
@@ -85,6 +93,7 @@ public class UserService {
         user.setAddress(userDto.getAddress());
         user.setPhoneNumber(userDto.getPhoneNumber());
         user = userRepository.update(user);
+        searchResultCache.invalidateChange(previousBirthDate, user.getBirthDate());
         return GetUserDto.builder()
                 .id(user.getId())
                 .firstName(user.getFirstName())
@@ -100,15 +109,110 @@ public class UserService {
         if (userRepository.existsById(userId)) {
             throw new UserNotFoundException(userId);
         }
-        userRepository.deleteById(userId);
+        userRepository.deleteById(userId)
+                .ifPresent(deleted -> searchResultCache.invalidate(deleted.getBirthDate()));
+    }
+
+    public List<User> findMatching(UserFilter filter) {
+        requireCriteria(filter, "Queries");
+        return userRepository.findMatching(filter);
+    }
+
+    public QueryPlan explain(UserFilter filter) {
+        requireCriteria(filter, "Queries");
+        return userRepository.explain(filter);
+    }
+
+    public BulkResultDto deleteMatching(UserFilter filter) {
+        requireCriteria(filter, "Bulk operations");
+        long deleted = userRepository.deleteMatching(filter);
+        if (deleted > 0) {
+            searchResultCache.invalidateOverlapping(filter.getBirthDateFrom(), filter.getBirthDateTo());
+        }
+        return new BulkResultDto(deleted);
+    }
+
+    public BulkResultDto patchMatching(BulkPatchDto bulkPatchDto) {
+        UserFilter filter = bulkPatchDto.getFilter();
+        EditUserDto patch = bulkPatchDto.getPatch();
+        requireCriteria(filter, "Bulk operations");
+        long patched = userRepository.updateMatching(filter, user -> applyPatch(user, patch));
+        if (patched > 0) {
+            searchResultCache.invalidateOverlapping(filter.getBirthDateFrom(), filter.getBirthDateTo());
+            if (patch.getBirthDate() != null) {
+                searchResultCache.invalidate(patch.getBirthDate());
+            }
+        }
+        return new BulkResultDto(patched);
     }
 
     public List<User> getUsersByBirthDateRange(LocalDate fromDate, LocalDate toDate) {
-        return userRepository.findByBirthDateBetween(fromDate, toDate);
+        return searchResultCache.get(fromDate, toDate, () -> userRepository.findByBirthDateBetween(fromDate, toDate));
     }
 
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
+    /**
+     * Resolves up to {@code user.batch-get.max-ids} distinct ids in one repository call. Duplicates are dropped,
+     * and found users keep the order of their first request.
+     */
+    public UserBatchDto findAllById(List<Long> userIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+        if (distinctIds.isEmpty()) {
+            throw new ValidationException("At least one user id is required");
+        }
+        if (distinctIds.size() > maxBatchIds) {
+            throw new ValidationException("At most %d user ids can be looked up at once".formatted(maxBatchIds));
+        }
+        List<User> users = userRepository.findAllById(distinctIds);
+        List<Long> missing = new ArrayList<>();
+        if (users.size() < distinctIds.size()) {
+            Set<Long> foundIds = new HashSet<>();
+            users.forEach(user -> foundIds.add(user.getId()));
+            for (Long userId : distinctIds) {
+                if (!foundIds.contains(userId)) {
+                    missing.add(userId);
+                }
+            }
+        }
+        return new UserBatchDto(users, missing);
+    }
+
+    public StorageStatsDto getStorageStats() {
+        return userRepository.storageStats();
+    }
+
+    private static void applyPatch(User user, EditUserDto userDto) {
+        if (userDto.getEmail() != null) {
+            user.setEmail(userDto.getEmail());
+        }
+        if (userDto.getFirstName() != null) {
+            user.setFirstName(userDto.getFirstName());
+        }
+        if (userDto.getLastName() != null) {
+            user.setLastName(userDto.getLastName());
+        }
+        if (userDto.getBirthDate() != null) {
+            user.setBirthDate(userDto.getBirthDate());
+        }
+        if (userDto.getAddress() != null) {
+            user.setAddress(userDto.getAddress());
+        }
+        if (userDto.getPhoneNumber() != null) {
+            user.setPhoneNumber(userDto.getPhoneNumber());
+        }
+    }
+
+    private static void requireCriteria(UserFilter filter, String operations) {
+        String blankCriterion = filter.blankCriterion();
+        if (blankCriterion != null) {
+            throw new ValidationException("Filter criterion '%s' must not be blank".formatted(blankCriterion));
+        }
+        if (filter.isEmpty()) {
+            throw new ValidationException(operations + " require at least one filter criterion");
+        }
+    }
+
 }
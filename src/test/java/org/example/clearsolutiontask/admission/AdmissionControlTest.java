@@ -0,0 +1,107 @@
+package org.example.clearsolutiontask.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tokenBucket_ExhaustedBurst_RefillsOverTime() {
+        TokenBucket bucket = new TokenBucket(2, 10, clock::get);
+
+        assertTrue(bucket.tryConsume(1));
+        assertTrue(bucket.tryConsume(1));
+        assertFalse(bucket.tryConsume(1));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(bucket.tryConsume(1));
+        assertFalse(bucket.tryConsume(1));
+    }
+
+    @Test
+    void clientRateLimiter_LowPriority_CostsMoreTokensPerClient() {
+        ClientRateLimiter limiter = new ClientRateLimiter(5, 1, 100, clock::get);
+
+        assertTrue(limiter.tryAcquire("dashboard", RequestPriority.LOW));
+        assertFalse(limiter.tryAcquire("dashboard", RequestPriority.HIGH));
+        assertTrue(limiter.tryAcquire("other-client", RequestPriority.HIGH));
+    }
+
+    @Test
+    void clientRateLimiter_CostAboveCapacity_DrainsBucketInsteadOfNeverAdmitting() {
+        ClientRateLimiter limiter = new ClientRateLimiter(5, 1, 100, clock::get);
+
+        assertTrue(limiter.tryAcquire("batch", 200));
+        assertFalse(limiter.tryAcquire("batch", 1));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertTrue(limiter.tryAcquire("batch", 3));
+        assertFalse(limiter.tryAcquire("batch", 1));
+    }
+
+    @Test
+    void clientRateLimiter_TooManyClients_PrunesIdleBuckets() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, clock::get);
+        limiter.tryAcquire("a", RequestPriority.HIGH);
+        limiter.tryAcquire("b", RequestPriority.HIGH);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        limiter.tryAcquire("c", RequestPriority.HIGH);
+
+        assertEquals(1, limiter.clientCount());
+    }
+
+    @Test
+    void clientRateLimiter_AllClientsActive_NewClientsShareOverflowBucket() {
+        ClientRateLimiter limiter = new ClientRateLimiter(2, 1, 2, clock::get);
+        assertTrue(limiter.tryAcquire("a", RequestPriority.HIGH));
+        assertTrue(limiter.tryAcquire("a", RequestPriority.HIGH));
+        assertTrue(limiter.tryAcquire("b", RequestPriority.HIGH));
+
+        assertTrue(limiter.tryAcquire("c", RequestPriority.HIGH));
+        assertTrue(limiter.tryAcquire("d", RequestPriority.HIGH));
+        assertFalse(limiter.tryAcquire("e", RequestPriority.HIGH));
+        assertFalse(limiter.tryAcquire("a", RequestPriority.HIGH), "tracked clients must keep their spent budget");
+        assertEquals(2, limiter.clientCount());
+    }
+
+    @Test
+    void concurrencyLimiter_AtLimit_FavoursHighPriority() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 2.0, 0.2, 10, 100);
+
+        assertTrue(limiter.tryAcquire(RequestPriority.LOW));
+        assertTrue(limiter.tryAcquire(RequestPriority.LOW));
+        assertFalse(limiter.tryAcquire(RequestPriority.LOW));
+        assertTrue(limiter.tryAcquire(RequestPriority.HIGH));
+        assertTrue(limiter.tryAcquire(RequestPriority.HIGH));
+        assertFalse(limiter.tryAcquire(RequestPriority.HIGH));
+        assertEquals(2, limiter.getRejected());
+    }
+
+    @Test
+    void concurrencyLimiter_LatencyInflation_ShrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 4, 200, 2.0, 0.5, 10, 1000);
+        long baseline = TimeUnit.MILLISECONDS.toNanos(1);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(RequestPriority.NORMAL));
+            limiter.release(baseline);
+        }
+        int limitBeforeQueueing = limiter.getLimit();
+
+        for (int window = 0; window < 20; window++) {
+            for (int i = 0; i < 10; i++) {
+                limiter.tryAcquire(RequestPriority.NORMAL);
+                limiter.release(baseline * 10);
+            }
+        }
+
+        assertTrue(limiter.getLimit() < limitBeforeQueueing / 2,
+                "limit %d should shrink from %d".formatted(limiter.getLimit(), limitBeforeQueueing));
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.clearsolutiontask.controller;
+
+import org.example.clearsolutiontask.dto.EditUserDto;
+import org.example.clearsolutiontask.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Renders a page of {@value #PAGE_SIZE} users over real HTTP the way the aggregation service used to, with that
+ * many concurrent {@code GET /users/{id}} calls, and with one {@code GET /users?ids=...}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "admission.enabled=false")
+class BatchGetBenchmarkTest {
+
+    private static final int PAGE_SIZE = 200;
+    private static final int WARMUP_PAGES = 20;
+    private static final int MEASURED_PAGES = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void batchGet_FasterThanSingleGets() throws Exception {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            userService.createUser(EditUserDto.builder()
+                    .email("user" + i + "@example.com")
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .birthDate(LocalDate.of(1980, 1, 1).plusDays(i))
+                    .address(i + " Main St., Kyiv")
+                    .phoneNumber("+380" + i)
+                    .build());
+        }
+        List<Long> ids = LongStream.rangeClosed(1, PAGE_SIZE).boxed().toList();
+
+        double singles = averagePageMillis(() -> singleGets(ids));
+        double batch = averagePageMillis(() -> batchGet(ids));
+
+        System.out.printf("page of %d users: %d single GETs %.2f ms, one batch GET %.2f ms (%.1fx)%n",
+                PAGE_SIZE, PAGE_SIZE, singles, batch, singles / batch);
+        assertTrue(batch < singles, "one batch GET should beat " + PAGE_SIZE + " single GETs");
+    }
+
+    private void singleGets(List<Long> ids) {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            responses.add(client.sendAsync(request("/users/" + id), HttpResponse.BodyHandlers.ofString()));
+        }
+        responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+    }
+
+    private void batchGet(List<Long> ids) {
+        String query = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        HttpResponse<String> response = client.sendAsync(request("/users?ids=" + query), HttpResponse.BodyHandlers.ofString()).join();
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().endsWith("\"missing\":[]}"));
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private static double averagePageMillis(Runnable page) {
+        for (int i = 0; i < WARMUP_PAGES; i++) {
+            page.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_PAGES; i++) {
+            page.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / MEASURED_PAGES;
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.clearsolutiontask.controller;
+
+import org.example.clearsolutiontask.controller.advice.ErrorLogSampler;
+import org.example.clearsolutiontask.controller.advice.UserControllerAdvice;
+import org.example.clearsolutiontask.dto.EditUserDto;
+import org.example.clearsolutiontask.dto.ErrorDto;
+import org.example.clearsolutiontask.exception.UserNotFoundException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Measures the error path before and after making it cheap: exceptions with and without stack traces thrown from a
+ * stack about as deep as a servlet request, and validation bodies built from the exception message versus compact
+ * field errors. The end-to-end rate of 404 and 400 responses through MockMvc is reported for reference.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "admission.enabled=false")
+@AutoConfigureMockMvc
+class ErrorPathBenchmarkTest {
+
+    // Roughly the depth of a controller method below Tomcat, the filter chain and the dispatcher servlet.
+    private static final int STACK_DEPTH = 120;
+    private static final int ITERATIONS = 200_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void stacklessExceptions_ThrowFasterThanStackTraced() {
+        double before = opsPerSecond(() -> atDepth(STACK_DEPTH, () -> new LegacyUserNotFoundException(42L)));
+        double after = opsPerSecond(() -> atDepth(STACK_DEPTH, () -> new UserNotFoundException(42L)));
+
+        System.out.printf("404 exception: before %,.0f ops/s, after %,.0f ops/s (%.1fx)%n", before, after, after / before);
+        assertTrue(after > before * 2, "stackless exceptions should be at least twice as cheap");
+    }
+
+    @Test
+    void compactFieldErrors_BuildFasterThanExceptionMessage() throws Exception {
+        MethodParameter parameter = new MethodParameter(
+                UserController.class.getMethod("createUser", EditUserDto.class), 0);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(EditUserDto.builder().build(), "editUserDto");
+        bindingResult.rejectValue("email", "Email", "must be a well-formed email address");
+        bindingResult.rejectValue("firstName", "NotBlank", "must not be blank");
+        bindingResult.rejectValue("birthDate", "NotNull", "must not be null");
+        MethodArgumentNotValidException exception = new MethodArgumentNotValidException(parameter, bindingResult);
+        UserControllerAdvice advice = new UserControllerAdvice(new ErrorLogSampler(5, 1000));
+
+        double before = opsPerSecond(() -> new ErrorDto(exception.getMessage()));
+        double after = opsPerSecond(() -> advice.handleValidationExceptions(exception));
+
+        System.out.printf("400 body: before %,.0f ops/s (%d chars), after %,.0f ops/s (%.1fx)%n",
+                before, exception.getMessage().length(), after, after / before);
+        assertTrue(after > before, "compact field errors should be cheaper than the rendered message");
+    }
+
+    @Test
+    void endToEnd_ErrorResponses() throws Exception {
+        int requests = 5_000;
+        for (int i = 0; i < requests / 10; i++) {
+            mockMvc.perform(get("/users/{id}", 1_000_000 + i)).andExpect(status().isNotFound());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            mockMvc.perform(get("/users/{id}", 1_000_000 + i)).andExpect(status().isNotFound());
+        }
+        double notFound = requests / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            mockMvc.perform(post("/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"bot\",\"firstName\":\"\",\"lastName\":\"x\"}"))
+                    .andExpect(status().isBadRequest());
+        }
+        double badRequest = requests / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("MockMvc: 404 %,.0f req/s, 400 %,.0f req/s%n", notFound, badRequest);
+    }
+
+    private static Object atDepth(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            try {
+                throw exception.get();
+            } catch (RuntimeException e) {
+                return e;
+            }
+        }
+        return atDepth(depth - 1, exception);
+    }
+
+    private static double opsPerSecond(Supplier<?> operation) {
+        int sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += System.identityHashCode(operation.get()) & 1;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += System.identityHashCode(operation.get()) & 1;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertTrue(sink >= 0);
+        return ITERATIONS / seconds;
+    }
+
+    /**
+     * The exception as it was before: full stack trace and an eagerly formatted message.
+     */
+    private static class LegacyUserNotFoundException extends RuntimeException {
+        LegacyUserNotFoundException(Long id) {
+            super("User with id '%s' not found".formatted(id));
+        }
+    }
+}
@@ -10,11 +10,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -220,4 +225,181 @@ class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void bulkDeleteUsers_EmptyFilter_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/users/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkDeleteUsers_BlankEmailContains_ReturnsBadRequestAndKeepsUsers() throws Exception {
+        userService.createUser(EditUserDto.builder()
+                .firstName("Doe")
+                .lastName("John")
+                .email("test@example.com")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .build());
+
+        mockMvc.perform(post("/users/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"emailContains\":\"\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Filter criterion 'emailContains' must not be blank"));
+
+        assertEquals(1, userService.getUsersByBirthDateRange(LocalDate.of(1989, 12, 31), LocalDate.of(1990, 1, 2)).size());
+    }
+
+    @Test
+    void bulkDeleteUsers_AddressWithoutWords_ReturnsBadRequestAndKeepsUsers() throws Exception {
+        userService.createUser(EditUserDto.builder()
+                .firstName("Doe")
+                .lastName("John")
+                .email("test@example.com")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .address("1 Main St., Kyiv")
+                .build());
+
+        mockMvc.perform(post("/users/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"addressContains\":\" ,.! \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Filter criterion 'addressContains' must not be blank"));
+
+        assertEquals(1, userService.getUsersByBirthDateRange(LocalDate.of(1989, 12, 31), LocalDate.of(1990, 1, 2)).size());
+    }
+
+    @Test
+    void bulkPatchUsers_BlankLastName_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/users/bulk-patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"lastName\":\"  \"},\"patch\":{\"address\":\"x\"}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkDeleteUsers_BirthDateRange_DeletesMatchingUsers() throws Exception {
+        for (LocalDate birthDate : new LocalDate[]{LocalDate.of(1932, 1, 1), LocalDate.of(1932, 12, 31), LocalDate.of(1933, 1, 1)}) {
+            userService.createUser(EditUserDto.builder()
+                    .firstName("Doe")
+                    .lastName("John")
+                    .email("test@example.com")
+                    .birthDate(birthDate)
+                    .build());
+        }
+
+        mockMvc.perform(post("/users/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"birthDateFrom\":\"1932-01-01\",\"birthDateTo\":\"1932-12-31\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        assertEquals(1, userService.getUsersByBirthDateRange(LocalDate.of(1931, 12, 31), LocalDate.of(1933, 1, 2)).size());
+    }
+
+    @Test
+    void bulkPatchUsers_BirthDateRange_PatchesMatchingUsers() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            userService.createUser(EditUserDto.builder()
+                    .firstName("Doe")
+                    .lastName("John")
+                    .email("test@example.com")
+                    .birthDate(LocalDate.of(1934, 6, 1 + i))
+                    .build());
+        }
+
+        mockMvc.perform(post("/users/bulk-patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"birthDateFrom\":\"1934-01-01\",\"birthDateTo\":\"1934-12-31\"},\"patch\":{\"lastName\":\"Archived\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        assertTrue(userService.getUsersByBirthDateRange(LocalDate.of(1933, 12, 31), LocalDate.of(1935, 1, 1)).stream()
+                .allMatch(user -> user.getLastName().equals("Archived")));
+    }
+
+    @Test
+    void queryUsers_NameAndAddress_ReturnsMatchingUsers() throws Exception {
+        for (String address : new String[]{"1 Khreshchatyk St., Kyiv", "2 Rynok Sq., Lviv"}) {
+            userService.createUser(EditUserDto.builder()
+                    .firstName("Query")
+                    .lastName("Target")
+                    .email("query@example.com")
+                    .birthDate(LocalDate.of(1936, 3, 1))
+                    .address(address)
+                    .build());
+        }
+
+        mockMvc.perform(post("/users/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"query\",\"addressContains\":\"KYIV\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].address").value("1 Khreshchatyk St., Kyiv"));
+
+        mockMvc.perform(post("/users/query/explain")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"query\",\"addressContains\":\"KYIV\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(1));
+    }
+
+    @Test
+    void queryUsers_EmptyFilter_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/users/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createUser_InvalidEmail_ReturnsFieldErrors() throws Exception {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"testexample.com\",\"firstName\":\"John\",\"lastName\":\"Doe\",\"birthDate\":\"1990-04-27\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed"))
+                .andExpect(jsonPath("$.fieldErrors.length()").value(1))
+                .andExpect(jsonPath("$.fieldErrors[0].field").value("email"));
+    }
+
+    @Test
+    void createUser_MalformedJson_ReturnsCompactBadRequest() throws Exception {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Malformed request body"))
+                .andExpect(jsonPath("$.fieldErrors").doesNotExist());
+    }
+
+    @Test
+    void getUsersByIds_MixedIds_StreamsFoundAndMissing() throws Exception {
+        userService.createUser(EditUserDto.builder()
+                .firstName("Batch")
+                .lastName("User")
+                .email("batch@example.com")
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/users").param("ids", "1,404"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andExpect(jsonPath("$.users[0].email").value("batch@example.com"))
+                .andExpect(jsonPath("$.missing[0]").value(404));
+    }
+
+    @Test
+    void getUsersByIds_OverBatchCap_ReturnsBadRequest() throws Exception {
+        String ids = String.join(",", IntStream.rangeClosed(1, 201).mapToObj(String::valueOf).toList());
+
+        mockMvc.perform(get("/users").param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
 }
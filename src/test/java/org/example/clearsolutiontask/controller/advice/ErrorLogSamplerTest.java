@@ -0,0 +1,41 @@
+package org.example.clearsolutiontask.controller.advice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorLogSamplerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ErrorLogSampler sampler = new ErrorLogSampler(2, 10, clock::get);
+
+    @Test
+    void acquire_OverBudget_SamplesAndReportsSkipped() {
+        assertEquals(0, sampler.acquire(IllegalStateException.class));
+        assertEquals(0, sampler.acquire(IllegalStateException.class));
+        for (int i = 0; i < 9; i++) {
+            assertEquals(ErrorLogSampler.SKIP, sampler.acquire(IllegalStateException.class));
+        }
+        assertEquals(9, sampler.acquire(IllegalStateException.class));
+        assertEquals(ErrorLogSampler.SKIP, sampler.acquire(IllegalStateException.class));
+
+        // Other error kinds have their own budget.
+        assertEquals(0, sampler.acquire(IllegalArgumentException.class));
+    }
+
+    @Test
+    void acquire_NextWindow_LogsAgainWithSkippedCount() {
+        sampler.acquire(IllegalStateException.class);
+        sampler.acquire(IllegalStateException.class);
+        sampler.acquire(IllegalStateException.class);
+        sampler.acquire(IllegalStateException.class);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(2, sampler.acquire(IllegalStateException.class));
+        assertEquals(0, sampler.acquire(IllegalStateException.class));
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.clearsolutiontask.controller.interceptor;
+
+import org.example.clearsolutiontask.admission.AdaptiveConcurrencyLimiter;
+import org.example.clearsolutiontask.admission.RequestPriority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives the real interceptor, rate limiter and concurrency limiter through MockMvc. The concurrency limit is
+ * pinned to {@value #LIMIT}; in-flight requests are simulated by holding permits of the limiter bean.
+ */
+@SpringBootTest(properties = {
+        "admission.enabled=true",
+        "admission.client.burst=7",
+        "admission.client.rate-per-second=0.001",
+        "admission.client.trusted-proxies=10.9.9.9",
+        "admission.limit.initial=" + AdmissionControlInterceptorTest.LIMIT,
+        "admission.limit.min=" + AdmissionControlInterceptorTest.LIMIT,
+        "admission.limit.max=" + AdmissionControlInterceptorTest.LIMIT
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+class AdmissionControlInterceptorTest {
+
+    static final int LIMIT = 10;
+    private static final String SEARCH = "/users/search?from=1990-01-01&to=1991-01-01";
+    private static final String LOOKUP = "/users/1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private int held;
+
+    @AfterEach
+    void tearDown() {
+        for (; held > 0; held--) {
+            concurrencyLimiter.release(-1);
+        }
+    }
+
+    @Test
+    void clientOverBudget_LowPriorityShedBeforeLookups_With429AndRetryAfter() throws Exception {
+        mockMvc.perform(from("10.0.0.1", get(SEARCH))).andExpect(status().isOk());
+
+        mockMvc.perform(from("10.0.0.1", get(SEARCH)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(from("10.0.0.1", get(LOOKUP))).andExpect(status().isNotFound());
+        mockMvc.perform(from("10.0.0.1", get(LOOKUP))).andExpect(status().isNotFound());
+        mockMvc.perform(from("10.0.0.1", get(LOOKUP)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        mockMvc.perform(from("10.0.0.2", get(LOOKUP))).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void batchLookup_CostsOneTokenPerId() throws Exception {
+        mockMvc.perform(from("10.0.0.1", get("/users").param("ids", "1,2,3,4,5,6"))).andExpect(status().isOk());
+
+        mockMvc.perform(from("10.0.0.1", get("/users").param("ids", "1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(from("10.0.0.1", get(LOOKUP))).andExpect(status().isNotFound());
+        mockMvc.perform(from("10.0.0.1", get(LOOKUP))).andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(from("10.0.0.2", get("/users").param("ids", "1", "2", "3", "4", "5", "6", "7", "8")))
+                .andExpect(status().isOk());
+        mockMvc.perform(from("10.0.0.2", get(LOOKUP))).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void rotatingClientIdHeader_FromUntrustedAddress_SharesOneBucket() throws Exception {
+        mockMvc.perform(from("10.0.0.1", get(SEARCH)).header(AdmissionControlInterceptor.CLIENT_ID_HEADER, "a"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(from("10.0.0.1", get(SEARCH)).header(AdmissionControlInterceptor.CLIENT_ID_HEADER, "b"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void clientIdHeader_FromTrustedProxy_KeysBucketsPerClient() throws Exception {
+        mockMvc.perform(from("10.9.9.9", get(SEARCH)).header(AdmissionControlInterceptor.CLIENT_ID_HEADER, "a"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(from("10.9.9.9", get(SEARCH)).header(AdmissionControlInterceptor.CLIENT_ID_HEADER, "b"))
+                .andExpect(status().isOk());
+        mockMvc.perform(from("10.9.9.9", get(SEARCH)).header(AdmissionControlInterceptor.CLIENT_ID_HEADER, "a"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void saturatedServer_ShedsLowThenNormalThenLookups_With503AndRetryAfter() throws Exception {
+        hold(RequestPriority.LOW.allowedConcurrency(LIMIT));
+        mockMvc.perform(from("10.0.0.1", get(SEARCH)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(from("10.0.0.2", post("/users/query").contentType("application/json").content("{}")))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(from("10.0.0.3", post("/users").contentType("application/json").content("{}")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(from("10.0.0.4", get(LOOKUP))).andExpect(status().isNotFound());
+
+        hold(RequestPriority.NORMAL.allowedConcurrency(LIMIT) - held);
+        mockMvc.perform(from("10.0.0.3", post("/users").contentType("application/json").content("{}")))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(from("10.0.0.4", get(LOOKUP))).andExpect(status().isNotFound());
+
+        hold(LIMIT - held);
+        mockMvc.perform(from("10.0.0.4", get(LOOKUP)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    private void hold(int permits) {
+        for (int i = 0; i < permits; i++) {
+            if (!concurrencyLimiter.tryAcquire(RequestPriority.HIGH)) {
+                throw new IllegalStateException("Limiter is already saturated");
+            }
+            held++;
+        }
+    }
+
+    private static MockHttpServletRequestBuilder from(String remoteAddress, MockHttpServletRequestBuilder request) {
+        return request.with(mockRequest -> {
+            mockRequest.setRemoteAddr(remoteAddress);
+            return mockRequest;
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.clearsolutiontask.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceExceptionTest {
+
+    @Test
+    void expectedOutcomes_AreStackless() {
+        assertEquals(0, new UserNotFoundException(1L).getStackTrace().length);
+        assertEquals(0, new ValidationException("bad").getStackTrace().length);
+        assertEquals(0, new TooManyRequestsException().getStackTrace().length);
+        assertEquals(0, new ServiceOverloadedException().getStackTrace().length);
+    }
+
+    @Test
+    void wrappedFailures_KeepStackAndCause() {
+        IOException cause = new IOException("disk full");
+
+        ServiceException exception = new ServiceException("Failed to write export stream: disk full", cause);
+
+        assertSame(cause, exception.getCause());
+        assertTrue(exception.getStackTrace().length > 0);
+    }
+}
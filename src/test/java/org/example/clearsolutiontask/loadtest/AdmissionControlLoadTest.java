@@ -0,0 +1,75 @@
+package org.example.clearsolutiontask.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the real application through {@link LoadTestHarness} at twice its measured capacity and compares tail
+ * latency with admission control on and off.
+ * <p>
+ * Capacity is measured first with admission control off: requests are scheduled far above what the server can
+ * take while at most {@code loadtest.admission.calibrationInFlight} are outstanding, so the completion rate is the
+ * server's. Both overload runs then use {@code 2x} that rate and the same mix. Per-client rate limits are lifted in
+ * every run so that only the adaptive concurrency limit sheds. Latencies are measured from the scheduled send time,
+ * so without shedding the backlog shows up as a p99 that grows with the run; with shedding it must stay below
+ * {@value #P99_BOUND_SHARE} of the run length.
+ * <p>
+ * {@code loadtest.seedUsers}, {@code loadtest.durationSeconds}, {@code loadtest.warmupSeconds} and
+ * {@code loadtest.seed} apply as for {@code UserApiLoadTest}; the mix defaults to range searches and lookups,
+ * which make the server rather than the load generator the bottleneck.
+ */
+@Tag("load")
+class AdmissionControlLoadTest {
+
+    private static final double OVERLOAD_FACTOR = 2.0;
+    private static final double P99_BOUND_SHARE = 0.1;
+    private static final List<String> UNLIMITED_CLIENTS = List.of(
+            "--admission.client.burst=1000000000",
+            "--admission.client.rate-per-second=1000000000");
+
+    @Test
+    void overload_WithAdmissionControl_KeepsP99Bounded() throws Exception {
+        LoadTestConfig base = LoadTestConfig.fromSystemProperties();
+        String mix = System.getProperty("loadtest.admission.mix", "get=50,search=50");
+
+        LoadReport calibration = new LoadTestHarness(variant(base, mix,
+                Integer.getInteger("loadtest.admission.calibrationRate", 5_000),
+                Duration.ofSeconds(Long.getLong("loadtest.admission.calibrationSeconds", 5)),
+                Integer.getInteger("loadtest.admission.calibrationInFlight", 32), false, "calibration")).run();
+        double capacity = calibration.total().throughputPerSecond();
+        int overloadRate = (int) Math.ceil(capacity * OVERLOAD_FACTOR);
+
+        LoadReport disabled = new LoadTestHarness(variant(base, mix, overloadRate, base.duration(), base.maxInFlight(),
+                false, "disabled")).run();
+        LoadReport enabled = new LoadTestHarness(variant(base, mix, overloadRate, base.duration(), base.maxInFlight(),
+                true, "enabled")).run();
+
+        double boundMillis = base.duration().toMillis() * P99_BOUND_SHARE;
+        double served = enabled.total().statusClasses().getOrDefault("2xx", 0L) / enabled.elapsedSeconds();
+        System.out.printf("capacity %.0f/s, offered %d/s, p99 bound %.0f ms%n", capacity, overloadRate, boundMillis);
+        System.out.printf("without admission control: p99=%.1f ms%n", disabled.total().p99Millis());
+        System.out.printf("with admission control:    p99=%.1f ms, served %.0f/s%n",
+                enabled.total().p99Millis(), served);
+
+        assertTrue(disabled.total().p99Millis() > boundMillis,
+                "2x capacity must overload the server without admission control, or the comparison shows nothing");
+        assertTrue(enabled.total().p99Millis() <= boundMillis, "p99 must stay bounded under 2x overload");
+        assertTrue(served >= 0.5 * capacity, "shedding must not starve the server");
+    }
+
+    private static LoadTestConfig variant(LoadTestConfig base, String mix, int rate, Duration duration, int maxInFlight,
+                                          boolean admission, String name) {
+        List<String> appArgs = new ArrayList<>(UNLIMITED_CLIENTS);
+        appArgs.add("--admission.enabled=" + admission);
+        return new LoadTestConfig(rate, duration, base.warmup(), base.seedUsers(),
+                maxInFlight, LoadTestConfig.parseMix(mix), appArgs,
+                Path.of("target/loadtest/admission-%s.json".formatted(name)), base.randomSeed());
+    }
+}
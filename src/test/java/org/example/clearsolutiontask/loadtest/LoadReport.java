@@ -0,0 +1,34 @@
+package org.example.clearsolutiontask.loadtest;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * JSON report of one load-test run. Latencies are in milliseconds and measured from each request's
+ * scheduled send time, so they include any time spent waiting behind a slow server.
+ */
+public record LoadReport(String commit,
+                         Instant startedAt,
+                         Map<String, Object> config,
+                         double elapsedSeconds,
+                         Map<String, EndpointReport> endpoints,
+                         EndpointReport total) {
+
+    /**
+     * @param errors        transport failures and 5xx responses
+     * @param clientErrors  4xx responses, reported apart from errors so that an endpoint answering mostly 4xx
+     *                      (e.g. deletes of existing ids, see {@link LoadTestConfig.Operation}) stands out
+     */
+    public record EndpointReport(long count,
+                                 long errors,
+                                 long clientErrors,
+                                 Map<String, Long> statusClasses,
+                                 double throughputPerSecond,
+                                 double meanMillis,
+                                 double p50Millis,
+                                 double p90Millis,
+                                 double p99Millis,
+                                 double p999Millis,
+                                 double maxMillis) {
+    }
+}
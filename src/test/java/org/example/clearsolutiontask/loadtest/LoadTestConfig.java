@@ -0,0 +1,75 @@
+package org.example.clearsolutiontask.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load-test parameters, read from {@code loadtest.*} system properties so runs can be configured from the
+ * Maven command line, e.g. {@code mvn test -Pperformance -Dtest=UserApiLoadTest -Dloadtest.rate=2000}.
+ *
+ * @param rate          requests per second, scheduled at fixed intervals regardless of response times
+ * @param duration      measured phase length
+ * @param warmup        phase before measuring, same rate and mix
+ * @param seedUsers     users imported before the run
+ * @param maxInFlight   cap on outstanding requests; waiting for it still counts as latency
+ * @param mix           relative weight per operation
+ * @param appArgs       extra Spring Boot arguments; admission control is off unless re-enabled here
+ * @param output        JSON report location
+ * @param randomSeed    seed for operation, id and payload choice
+ */
+public record LoadTestConfig(int rate,
+                             Duration duration,
+                             Duration warmup,
+                             int seedUsers,
+                             int maxInFlight,
+                             Map<Operation, Integer> mix,
+                             List<String> appArgs,
+                             Path output,
+                             long randomSeed) {
+
+    /**
+     * Operations the mix can contain. {@code DELETE} is left out of the default mix: {@code UserService.deleteById}
+     * rejects ids that exist (a known inverted check), so every delete of a seeded id is a 404 and its latencies
+     * measure the not-found path rather than deletion.
+     */
+    public enum Operation {
+        CREATE, GET, PATCH, PUT, DELETE, SEARCH
+    }
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.rate", 500),
+                Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 30)),
+                Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 5)),
+                Integer.getInteger("loadtest.seedUsers", 10_000),
+                Integer.getInteger("loadtest.maxInFlight", 1_000),
+                parseMix(System.getProperty("loadtest.mix", "get=55,search=10,create=10,patch=15,put=10")),
+                Arrays.stream(System.getProperty("loadtest.appArgs", "--admission.enabled=false").split("\\s+"))
+                        .filter(arg -> !arg.isBlank())
+                        .toList(),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest/report.json")),
+                Long.getLong("loadtest.seed", 42));
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '%s', expected operation=weight".formatted(entry));
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Load mix '%s' has no positive weights".formatted(mix));
+        }
+        return weights;
+    }
+}
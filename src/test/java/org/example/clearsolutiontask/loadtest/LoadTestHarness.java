@@ -0,0 +1,283 @@
+package org.example.clearsolutiontask.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.example.clearsolutiontask.ClearSolutionTaskApplication;
+import org.example.clearsolutiontask.loadtest.LoadReport.EndpointReport;
+import org.example.clearsolutiontask.loadtest.LoadTestConfig.Operation;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-model HTTP load generator for {@code UserController}.
+ * <p>
+ * Starts the application on a random port, imports {@code seedUsers} users and then schedules requests at a
+ * fixed arrival rate, each on its own virtual thread. Because the schedule never waits for responses,
+ * a slow server shows up as latency instead of as a lower request rate (no coordinated omission).
+ * Per-endpoint HDR histograms are written as JSON for comparison across commits.
+ * <p>
+ * Run directly via {@link #main} or through {@code UserApiLoadTest}.
+ */
+public class LoadTestHarness {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    private final AtomicLong uniqueSuffix = new AtomicLong();
+
+    public LoadTestHarness(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadReport report = new LoadTestHarness(LoadTestConfig.fromSystemProperties()).run();
+        System.exit(report.total().errors() == 0 ? 0 : 1);
+    }
+
+    public LoadReport run() throws IOException, InterruptedException {
+        List<String> appArgs = new ArrayList<>(List.of("--server.port=0"));
+        appArgs.addAll(config.appArgs());
+        Instant startedAt = Instant.now();
+        try (ConfigurableApplicationContext context = SpringApplication.run(ClearSolutionTaskApplication.class, appArgs.toArray(String[]::new));
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI users = URI.create("http://localhost:%d/users".formatted(port));
+            long[] ids = seed(client, users);
+
+            drive(client, users, ids, config.warmup().toNanos(), null);
+            Map<Operation, EndpointRecorder> recorders = new EnumMap<>(Operation.class);
+            config.mix().keySet().forEach(operation -> recorders.put(operation, new EndpointRecorder()));
+            long elapsedNanos = drive(client, users, ids, config.duration().toNanos(), recorders);
+
+            LoadReport report = report(startedAt, recorders, elapsedNanos);
+            Files.createDirectories(config.output().toAbsolutePath().getParent());
+            objectMapper.writeValue(config.output().toFile(), report);
+            System.out.println(objectMapper.writeValueAsString(report));
+            return report;
+        }
+    }
+
+    private long[] seed(HttpClient client, URI users) throws IOException, InterruptedException {
+        Random random = new Random(config.randomSeed());
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < config.seedUsers(); i++) {
+            ndjson.append(userJson(random)).append('\n');
+        }
+        HttpResponse<String> imported = client.send(HttpRequest.newBuilder(URI.create(users + "/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (imported.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with %d: %s".formatted(imported.statusCode(), imported.body()));
+        }
+
+        HttpResponse<Stream<String>> exported = client.send(
+                HttpRequest.newBuilder(URI.create(users + "/export?format=csv")).build(),
+                HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = exported.body()) {
+            return lines.skip(1)
+                    .mapToLong(line -> Long.parseLong(line.substring(0, line.indexOf(','))))
+                    .toArray();
+        }
+    }
+
+    /**
+     * Issues requests at {@code config.rate()} for {@code phaseNanos} and waits for all of them to finish.
+     * With {@code recorders == null} the phase is a warmup and nothing is recorded.
+     */
+    private long drive(HttpClient client, URI users, long[] ids, long phaseNanos,
+                       Map<Operation, EndpointRecorder> recorders) throws InterruptedException {
+        Random random = new Random(config.randomSeed() + (recorders == null ? 0 : 1));
+        Operation[] wheel = config.mix().entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        int requests = (int) (phaseNanos / intervalNanos);
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        CountDownLatch done = new CountDownLatch(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = wheel[random.nextInt(wheel.length)];
+            HttpRequest request = request(operation, users, ids, random);
+            EndpointRecorder recorder = recorders == null ? null : recorders.get(operation);
+            Thread.startVirtualThread(() -> {
+                try {
+                    inFlight.acquireUninterruptibly();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (recorder != null) {
+                            recorder.record(intendedStart, status);
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        if (recorder != null) {
+                            recorder.record(intendedStart, -1);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return System.nanoTime() - start;
+    }
+
+    private HttpRequest request(Operation operation, URI users, long[] ids, Random random) {
+        String byId = users + "/" + ids[random.nextInt(ids.length)];
+        return switch (operation) {
+            case CREATE -> json(HttpRequest.newBuilder(users), "POST", userJson(random));
+            case GET -> HttpRequest.newBuilder(URI.create(byId)).GET().build();
+            case PATCH -> json(HttpRequest.newBuilder(URI.create(byId)), "PATCH",
+                    "{\"firstName\":\"Patched%d\"}".formatted(uniqueSuffix.incrementAndGet()));
+            case PUT -> json(HttpRequest.newBuilder(URI.create(byId)), "PUT", userJson(random));
+            case DELETE -> HttpRequest.newBuilder(URI.create(byId)).DELETE().build();
+            case SEARCH -> {
+                LocalDate from = randomBirthDate(random);
+                yield HttpRequest.newBuilder(URI.create("%s/search?from=%s&to=%s".formatted(users, from, from.plusYears(5))))
+                        .GET()
+                        .build();
+            }
+        };
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String userJson(Random random) {
+        long suffix = uniqueSuffix.incrementAndGet();
+        return "{\"email\":\"load%d@example.com\",\"firstName\":\"First%d\",\"lastName\":\"Last%d\",\"birthDate\":\"%s\"}"
+                .formatted(suffix, suffix, suffix % 1000, randomBirthDate(random));
+    }
+
+    private static LocalDate randomBirthDate(Random random) {
+        return LocalDate.of(1950, 1, 1).plusDays(random.nextInt(50 * 365));
+    }
+
+    private LoadReport report(Instant startedAt, Map<Operation, EndpointRecorder> recorders, long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1e9;
+        Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        Map<String, Long> totalStatuses = new ConcurrentHashMap<>();
+        long totalErrors = 0;
+        for (Map.Entry<Operation, EndpointRecorder> entry : recorders.entrySet()) {
+            EndpointRecorder recorder = entry.getValue();
+            endpoints.put(entry.getKey().name().toLowerCase(), recorder.toReport(elapsedSeconds));
+            total.add(recorder.latencyMicros);
+            recorder.statusClasses.forEach((status, count) -> totalStatuses.merge(status, count.sum(), Long::sum));
+            totalErrors += recorder.errors.sum();
+        }
+
+        Map<String, Object> configSummary = new LinkedHashMap<>();
+        configSummary.put("rate", config.rate());
+        configSummary.put("durationSeconds", config.duration().toSeconds());
+        configSummary.put("warmupSeconds", config.warmup().toSeconds());
+        configSummary.put("seedUsers", config.seedUsers());
+        configSummary.put("maxInFlight", config.maxInFlight());
+        configSummary.put("mix", config.mix());
+        configSummary.put("appArgs", config.appArgs());
+        return new LoadReport(currentCommit(), startedAt, configSummary, elapsedSeconds, endpoints,
+                toReport(total, totalErrors, new LinkedHashMap<>(totalStatuses), elapsedSeconds));
+    }
+
+    private static EndpointReport toReport(Histogram latencyMicros, long errors, Map<String, Long> statusClasses,
+                                           double elapsedSeconds) {
+        return new EndpointReport(
+                latencyMicros.getTotalCount(),
+                errors,
+                statusClasses.getOrDefault("4xx", 0L),
+                statusClasses,
+                latencyMicros.getTotalCount() / elapsedSeconds,
+                latencyMicros.getMean() / 1e3,
+                latencyMicros.getValueAtPercentile(50) / 1e3,
+                latencyMicros.getValueAtPercentile(90) / 1e3,
+                latencyMicros.getValueAtPercentile(99) / 1e3,
+                latencyMicros.getValueAtPercentile(99.9) / 1e3,
+                latencyMicros.getMaxValue() / 1e3);
+    }
+
+    private static String currentCommit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(git.getInputStream().readAllBytes()).trim();
+            return git.waitFor() == 0 ? commit : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    /**
+     * Latency and status distribution of one operation. Transport failures and 5xx responses count as
+     * errors. 4xx responses are counted separately as client errors: they are legitimate for some requests (a GET
+     * racing a delete in a custom mix) but dominate DELETE, whose ids all exist, see {@link Operation}.
+     */
+    private static class EndpointRecorder {
+        private final ConcurrentHistogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Map<String, LongAdder> statusClasses = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+
+        void record(long intendedStartNanos, int status) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos);
+            latencyMicros.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            String statusClass = status < 0 ? "failed" : status / 100 + "xx";
+            statusClasses.computeIfAbsent(statusClass, key -> new LongAdder()).increment();
+            if (status < 0 || status >= 500) {
+                errors.increment();
+            }
+        }
+
+        EndpointReport toReport(double elapsedSeconds) {
+            Map<String, Long> statuses = new LinkedHashMap<>();
+            statusClasses.forEach((status, count) -> statuses.put(status, count.sum()));
+            return LoadTestHarness.toReport(latencyMicros, errors.sum(), statuses, elapsedSeconds);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.clearsolutiontask.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link LoadTestHarness} with the {@code loadtest.*} system properties, e.g.
+ * {@code mvn test -Pperformance -Dtest=UserApiLoadTest -Dloadtest.rate=2000 -Dloadtest.durationSeconds=60}.
+ */
+@Tag("load")
+class UserApiLoadTest {
+
+    @Test
+    void run_ConfiguredMix_CompletesWithoutServerErrors() throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        LoadReport report = new LoadTestHarness(config).run();
+
+        assertTrue(report.total().count() > 0);
+        assertEquals(0, report.total().errors());
+    }
+}
@@ -0,0 +1,251 @@
+package org.example.clearsolutiontask.repository;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.clearsolutiontask.exception.ServiceException;
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
+import org.example.clearsolutiontask.repository.index.QueryPlan;
+import org.example.clearsolutiontask.repository.index.QueryPlan.Operation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcUserRepositoryTest {
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Olena", "Taras", "Maria"};
+    private static final String[] LAST_NAMES = {"Doe", "Shevchenko", "Smith", "Kovalenko"};
+    private static final String[] CITIES = {"Kyiv", "Lviv", "Odesa", "Kharkiv"};
+
+    private HikariDataSource dataSource;
+    private JdbcUserRepository userRepository;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = dataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64");
+        userRepository = new JdbcUserRepository(dataSource, 100);
+        users = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            users.add(User.builder()
+                    .email("user" + i + "@example.com")
+                    .firstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                    .lastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                    .birthDate(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20_000)))
+                    .address(random.nextInt(10) == 0 ? null : (i % 50) + " Main St., " + CITIES[random.nextInt(CITIES.length)])
+                    .phoneNumber(random.nextBoolean() ? "+380" + i : null)
+                    .build());
+        }
+        userRepository.saveAll(users);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        userRepository.close();
+    }
+
+    @Test
+    void saveAll_AssignsContiguousIdsAndPersistsEveryField() {
+        for (int i = 0; i < users.size(); i++) {
+            assertEquals(i + 1L, users.get(i).getId());
+        }
+        assertEquals(users.get(123), userRepository.findById(124L).orElseThrow());
+        assertEquals(users.size(), userRepository.storageStats().getUsers());
+    }
+
+    @Test
+    void save_ContinuesAfterExistingIds() {
+        User user = User.builder().email("new@example.com").birthDate(LocalDate.of(2000, 1, 1)).build();
+
+        userRepository.save(user);
+
+        assertEquals(users.size() + 1L, user.getId());
+        assertTrue(userRepository.existsById(user.getId()));
+    }
+
+    @Test
+    void findAllById_KeepsRequestOrderAndSkipsMissing() {
+        List<User> found = userRepository.findAllById(List.of(7L, 99_999L, 3L));
+
+        assertEquals(List.of(users.get(6), users.get(2)), found);
+    }
+
+    @Test
+    void findByBirthDateBetween_ExcludesBoundsAndOrdersById() {
+        LocalDate from = LocalDate.of(1960, 1, 1);
+        LocalDate to = LocalDate.of(1970, 1, 1);
+        List<User> expected = users.stream()
+                .filter(user -> user.getBirthDate().isAfter(from) && user.getBirthDate().isBefore(to))
+                .toList();
+
+        assertEquals(expected, userRepository.findByBirthDateBetween(from, to));
+        try (Stream<User> stream = userRepository.streamByBirthDateBetween(from, to)) {
+            assertEquals(expected, stream.toList());
+        }
+    }
+
+    @Test
+    void findMatching_AnyCombinationOfCriteria_MatchesNaiveScan() {
+        List<UserFilter> filters = List.of(
+                UserFilter.builder().firstName("jane").build(),
+                UserFilter.builder().lastName(" Smith ").hasPhoneNumber(true).build(),
+                UserFilter.builder().addressContains("main kyiv").firstName("Olena").build(),
+                UserFilter.builder().addressContains("7 Main").build(),
+                UserFilter.builder().birthDateFrom(LocalDate.of(1960, 1, 1)).birthDateTo(LocalDate.of(1960, 12, 31)).build(),
+                UserFilter.builder().birthDateTo(LocalDate.of(1955, 1, 1)).hasPhoneNumber(false).lastName("doe").build(),
+                UserFilter.builder().emailContains("USER1").build(),
+                UserFilter.builder().emailContains("_").build());
+
+        for (UserFilter filter : filters) {
+            List<User> expected = users.stream().filter(filter::matches).toList();
+            assertEquals(expected, userRepository.findMatching(filter), filter.toString());
+            assertEquals(expected.size(), userRepository.explain(filter).matched(), filter.toString());
+        }
+    }
+
+    @Test
+    void explain_RangeQueryUsesBirthDateIndex() {
+        UserFilter filter = UserFilter.builder()
+                .birthDateFrom(LocalDate.of(1980, 1, 1))
+                .birthDateTo(LocalDate.of(1980, 12, 31))
+                .build();
+
+        QueryPlan plan = userRepository.explain(filter);
+
+        assertEquals(Operation.SQL, plan.steps().get(0).operation());
+        assertTrue(plan.steps().get(0).predicate().toUpperCase().contains("USERS_BIRTH_DATE"), plan.toString());
+    }
+
+    @Test
+    void updateMatching_And_deleteMatching_ChangeOnlyMatchingRows() {
+        UserFilter janes = UserFilter.builder().firstName("Jane").build();
+        long janeCount = users.stream().filter(janes::matches).count();
+
+        assertEquals(janeCount, userRepository.updateMatching(janes, user -> user.setFirstName("Janet")));
+        assertTrue(userRepository.findMatching(janes).isEmpty());
+        assertEquals(janeCount, userRepository.findMatching(UserFilter.builder().firstName("Janet").build()).size());
+
+        UserFilter kyiv = UserFilter.builder().addressContains("Kyiv").build();
+        long kyivCount = userRepository.findMatching(kyiv).size();
+        assertEquals(kyivCount, userRepository.deleteMatching(kyiv));
+        assertEquals(users.size() - kyivCount, userRepository.storageStats().getUsers());
+    }
+
+    @Test
+    void deleteById_ReturnsRemovedUserOnce() {
+        assertEquals(users.get(4), userRepository.deleteById(5L).orElseThrow());
+        assertTrue(userRepository.deleteById(5L).isEmpty());
+        assertFalse(userRepository.existsById(5L));
+    }
+
+    @Test
+    void restore_OverwritesExistingRowsAndMovesCounterPastThem() {
+        User restored = User.builder().id(1_000L).email("restored@example.com").birthDate(LocalDate.of(1990, 1, 1)).build();
+        User replaced = User.builder().id(2L).firstName("Replaced").birthDate(LocalDate.of(1991, 1, 1)).build();
+
+        userRepository.restore(List.of(restored, replaced));
+        User next = User.builder().email("next@example.com").birthDate(LocalDate.of(2000, 1, 1)).build();
+        userRepository.save(next);
+
+        assertEquals("Replaced", userRepository.findById(2L).orElseThrow().getFirstName());
+        assertEquals(restored, userRepository.findById(1_000L).orElseThrow());
+        assertEquals(1_001L, next.getId());
+    }
+
+    @Test
+    void constructor_SeedsIdsFromExistingTable() {
+        JdbcUserRepository reopened = new JdbcUserRepository(dataSource, 100);
+        User user = User.builder().email("again@example.com").birthDate(LocalDate.of(2000, 1, 1)).build();
+
+        reopened.save(user);
+
+        assertEquals(users.size() + 1L, user.getId());
+    }
+
+    @Test
+    void streamAll_ReadsEveryPageInIdOrderWithoutHoldingAConnection() {
+        List<User> more = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            more.add(User.builder().email("more" + i + "@example.com").birthDate(LocalDate.of(2000, 1, 1)).build());
+        }
+        userRepository.saveAll(more);
+        List<User> expected = new ArrayList<>(users);
+        expected.addAll(more);
+
+        try (Stream<User> stream = userRepository.streamAll()) {
+            List<User> streamed = new ArrayList<>();
+            stream.forEach(user -> {
+                assertEquals(0, dataSource.getHikariPoolMXBean().getActiveConnections());
+                streamed.add(user);
+            });
+            assertEquals(expected, streamed);
+        }
+    }
+
+    @Test
+    void explain_NameAndAddressCriteriaUseIndexes() {
+        String names = plan(UserFilter.builder().firstName("Olena").build());
+        String lastNames = plan(UserFilter.builder().lastName("Smith").build());
+        String address = plan(UserFilter.builder().addressContains("Kyiv").build());
+
+        assertTrue(names.contains("USERS_FIRST_NAME"), names);
+        assertTrue(lastNames.contains("USERS_LAST_NAME"), lastNames);
+        assertTrue(address.contains("USER_ADDRESS_WORDS") && address.contains("WORD = ?1 */"), address);
+        assertFalse(address.contains("TABLESCAN"), address);
+    }
+
+    @Test
+    void updateMatching_NewAddress_ReplacesItsWords() {
+        UserFilter lviv = UserFilter.builder().addressContains("Lviv").build();
+        long lvivCount = users.stream().filter(lviv::matches).count();
+
+        userRepository.updateMatching(lviv, user -> user.setAddress("1 Rynok Sq., Lutsk"));
+
+        assertTrue(userRepository.findMatching(lviv).isEmpty());
+        assertEquals(lvivCount, userRepository.findMatching(UserFilter.builder().addressContains("lutsk").build()).size());
+    }
+
+    @Test
+    void constructor_IndexesAddressWordsOfExistingRows() throws SQLException {
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("DELETE FROM user_address_words");
+        }
+        UserFilter odesa = UserFilter.builder().addressContains("odesa").build();
+
+        JdbcUserRepository reopened = new JdbcUserRepository(dataSource, 100);
+
+        assertEquals(users.stream().filter(odesa::matches).toList(), reopened.findMatching(odesa));
+    }
+
+    @Test
+    void failure_WrapsSqlExceptionAsCause() {
+        dataSource.close();
+
+        ServiceException exception = assertThrows(ServiceException.class, () -> userRepository.findById(1L));
+
+        assertInstanceOf(SQLException.class, exception.getCause());
+    }
+
+    private String plan(UserFilter filter) {
+        return userRepository.explain(filter).steps().get(0).predicate().toUpperCase();
+    }
+
+    private static HikariDataSource dataSource(String url) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername("sa");
+        config.setMaximumPoolSize(2);
+        return new HikariDataSource(config);
+    }
+}
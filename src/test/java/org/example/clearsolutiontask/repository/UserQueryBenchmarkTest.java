@@ -0,0 +1,94 @@
+package org.example.clearsolutiontask.repository;
+
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
+import org.example.clearsolutiontask.repository.index.QueryPlan.Operation;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares indexed filter queries with a plain scan of the store over {@value #USERS} users, from a single
+ * highly selective criterion to wide combinations where the planner should stop intersecting early or fall back to a
+ * scan. Only selective indexed plans are asserted to win; the rest are reported.
+ */
+@Tag("benchmark")
+class UserQueryBenchmarkTest {
+
+    private static final int USERS = 500_000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 20;
+
+    @Test
+    void indexedQueries_BeatFullScanOnSelectiveFilters() {
+        UserRepository userRepository = new InMemoryUserRepository();
+        List<User> users = generate(USERS);
+        userRepository.saveAll(users);
+
+        Map<String, UserFilter> queries = new LinkedHashMap<>();
+        queries.put("rare last name", UserFilter.builder().lastName("Last7").build());
+        queries.put("name + phone", UserFilter.builder().firstName("First12").hasPhoneNumber(true).build());
+        queries.put("city + street + year", UserFilter.builder().addressContains("street3 city5")
+                .birthDateFrom(LocalDate.of(1980, 1, 1)).birthDateTo(LocalDate.of(1980, 12, 31)).build());
+        queries.put("decade + phone", UserFilter.builder().hasPhoneNumber(false)
+                .birthDateFrom(LocalDate.of(1970, 1, 1)).birthDateTo(LocalDate.of(1979, 12, 31)).build());
+        queries.put("wide range + email", UserFilter.builder().emailContains("99@")
+                .birthDateFrom(LocalDate.of(1950, 1, 1)).build());
+
+        System.out.printf("%-22s %10s %12s %12s %8s%n", "query", "matches", "indexed us", "scan us", "speedup");
+        for (Map.Entry<String, UserFilter> query : queries.entrySet()) {
+            UserFilter filter = query.getValue();
+            List<User> expected = users.stream().filter(filter::matches).toList();
+            assertEquals(expected, userRepository.findMatching(filter), query.getKey());
+
+            double indexed = averageMicros(() -> userRepository.findMatching(filter));
+            double scan = averageMicros(() -> users.stream().filter(filter::matches).toList());
+            System.out.printf("%-22s %10d %12.1f %12.1f %7.1fx%n", query.getKey(), expected.size(), indexed, scan, scan / indexed);
+            boolean fullScan = userRepository.explain(filter).steps().get(0).operation() == Operation.FULL_SCAN;
+            if (!fullScan && expected.size() < USERS / 100) {
+                assertTrue(indexed < scan, query.getKey() + " should be faster through the indexes");
+            }
+        }
+        System.out.println(userRepository.explain(queries.get("city + street + year")));
+    }
+
+    private static List<User> generate(int count) {
+        Random random = new Random(1);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .email("user" + i + "@example.com")
+                    .firstName("First" + random.nextInt(200))
+                    .lastName("Last" + random.nextInt(20_000))
+                    .birthDate(LocalDate.of(1940, 1, 1).plusDays(random.nextInt(25_000)))
+                    .address(random.nextInt(100) + " Street" + random.nextInt(50) + ", City" + random.nextInt(40))
+                    .phoneNumber(random.nextInt(3) == 0 ? null : "+380" + i)
+                    .build());
+        }
+        return users;
+    }
+
+    private static double averageMicros(Supplier<List<User>> query) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += query.get().size();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += query.get().size();
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ROUNDS;
+        assertTrue(sink >= 0);
+        return micros;
+    }
+}
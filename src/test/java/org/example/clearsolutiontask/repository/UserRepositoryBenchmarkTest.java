@@ -0,0 +1,159 @@
+package org.example.clearsolutiontask.repository;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the {@code memory} and {@code jdbc} backends on the same {@value #USERS} users: a batched load, point
+ * lookups, birth-date range queries, a filter query and single-row updates. The JDBC backend uses a file-mode H2
+ * database as configured by default. Only the JDBC batch load is asserted to beat row-at-a-time inserts; the
+ * backend comparison is reported.
+ */
+@Tag("benchmark")
+class UserRepositoryBenchmarkTest {
+
+    private static final int USERS = 200_000;
+    private static final int ROW_AT_A_TIME_USERS = 5_000;
+    private static final int LOOKUPS = 20_000;
+    private static final int UPDATES = 5_000;
+    private static final int ROUNDS = 5;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compareBackends() throws Exception {
+        HikariDataSource dataSource = dataSource("jdbc:h2:file:" + tempDir.resolve("users") + ";QUERY_CACHE_SIZE=64");
+        JdbcUserRepository jdbc = new JdbcUserRepository(dataSource, 1_000);
+        UserRepository memory = new InMemoryUserRepository();
+        try {
+            System.out.printf("%-26s %12s %12s%n", "operation", "memory ms", "jdbc ms");
+            report("saveAll " + USERS, time(() -> load(memory)), time(() -> load(jdbc)));
+
+            compareInserts();
+
+            report("findById x" + LOOKUPS, best(() -> lookups(memory)), best(() -> lookups(jdbc)));
+
+            LocalDate from = LocalDate.of(1980, 1, 1);
+            LocalDate to = LocalDate.of(1981, 1, 1);
+            assertEquals(memory.findByBirthDateBetween(from, to).size(), jdbc.findByBirthDateBetween(from, to).size());
+            report("birth-date range (1 year)",
+                    best(() -> memory.findByBirthDateBetween(from, to).size()),
+                    best(() -> jdbc.findByBirthDateBetween(from, to).size()));
+
+            UserFilter filter = UserFilter.builder().firstName("First12").hasPhoneNumber(true).build();
+            assertEquals(memory.findMatching(filter).size(), jdbc.findMatching(filter).size());
+            report("filter name + phone", best(() -> memory.findMatching(filter).size()),
+                    best(() -> jdbc.findMatching(filter).size()));
+
+            report("update x" + UPDATES, time(() -> updates(memory)), time(() -> updates(jdbc)));
+        } finally {
+            jdbc.close();
+        }
+    }
+
+    private void compareInserts() throws Exception {
+        JdbcUserRepository rowAtATime = new JdbcUserRepository(dataSource("jdbc:h2:file:" + tempDir.resolve("rows")), 1_000);
+        JdbcUserRepository batched = new JdbcUserRepository(dataSource("jdbc:h2:file:" + tempDir.resolve("batched")), 1_000);
+        try {
+            List<User> users = generate(ROW_AT_A_TIME_USERS, 2);
+            double rowMillis = time(() -> {
+                users.forEach(rowAtATime::save);
+                return users.size();
+            });
+            double batchMillis = time(() -> load(batched, generate(ROW_AT_A_TIME_USERS, 2)));
+            System.out.printf("jdbc insert x%d: one by one %.1f ms, batched %.1f ms%n", ROW_AT_A_TIME_USERS, rowMillis, batchMillis);
+            assertTrue(batchMillis < rowMillis, "batched inserts should be faster than one insert per row");
+        } finally {
+            rowAtATime.close();
+            batched.close();
+        }
+    }
+
+    private static long load(UserRepository repository) {
+        return load(repository, generate(USERS, 1));
+    }
+
+    private static long load(UserRepository repository, List<User> users) {
+        repository.saveAll(users);
+        return users.size();
+    }
+
+    private static long lookups(UserRepository repository) {
+        Random random = new Random(7);
+        long found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            found += repository.findById(1L + random.nextInt(USERS)).isPresent() ? 1 : 0;
+        }
+        return found;
+    }
+
+    private static long updates(UserRepository repository) {
+        Random random = new Random(11);
+        for (int i = 0; i < UPDATES; i++) {
+            User user = repository.findById(1L + random.nextInt(USERS)).orElseThrow();
+            user.setAddress("Updated " + i);
+            repository.update(user);
+        }
+        return UPDATES;
+    }
+
+    private static void report(String operation, double memoryMillis, double jdbcMillis) {
+        System.out.printf("%-26s %12.2f %12.2f%n", operation, memoryMillis, jdbcMillis);
+    }
+
+    private static double best(LongSupplier operation) {
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            best = Math.min(best, time(operation));
+        }
+        return best;
+    }
+
+    private static double time(LongSupplier operation) {
+        long start = System.nanoTime();
+        long sink = operation.getAsLong();
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        assertTrue(sink >= 0);
+        return millis;
+    }
+
+    private static List<User> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .email("user" + i + "@example.com")
+                    .firstName("First" + random.nextInt(200))
+                    .lastName("Last" + random.nextInt(20_000))
+                    .birthDate(LocalDate.of(1940, 1, 1).plusDays(random.nextInt(25_000)))
+                    .address(random.nextInt(100) + " Street" + random.nextInt(50) + ", City" + random.nextInt(40))
+                    .phoneNumber(random.nextInt(3) == 0 ? null : "+380" + i)
+                    .build());
+        }
+        return users;
+    }
+
+    private static HikariDataSource dataSource(String url) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername("sa");
+        config.setMaximumPoolSize(4);
+        return new HikariDataSource(config);
+    }
+}
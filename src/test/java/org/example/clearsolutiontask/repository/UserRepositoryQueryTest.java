@@ -0,0 +1,126 @@
+package org.example.clearsolutiontask.repository;
+
+import org.example.clearsolutiontask.exception.ValidationException;
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
+import org.example.clearsolutiontask.repository.index.QueryPlan;
+import org.example.clearsolutiontask.repository.index.QueryPlan.Operation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRepositoryQueryTest {
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Olena", "Taras", "Maria"};
+    private static final String[] LAST_NAMES = {"Doe", "Shevchenko", "Smith", "Kovalenko"};
+    private static final String[] CITIES = {"Kyiv", "Lviv", "Odesa", "Kharkiv"};
+
+    private UserRepository userRepository;
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new InMemoryUserRepository();
+        users = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            users.add(User.builder()
+                    .email("user" + i + "@example.com")
+                    .firstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                    .lastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                    .birthDate(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20_000)))
+                    .address(random.nextInt(10) == 0 ? null : (i % 50) + " Main St., " + CITIES[random.nextInt(CITIES.length)])
+                    .phoneNumber(random.nextBoolean() ? "+380" + i : null)
+                    .build());
+        }
+        userRepository.saveAll(users);
+    }
+
+    @Test
+    void findMatching_AnyCombinationOfCriteria_MatchesNaiveScan() {
+        List<UserFilter> filters = List.of(
+                UserFilter.builder().firstName("jane").build(),
+                UserFilter.builder().lastName(" Smith ").hasPhoneNumber(true).build(),
+                UserFilter.builder().addressContains("main kyiv").firstName("Olena").build(),
+                UserFilter.builder().addressContains("7 Main").build(),
+                UserFilter.builder().birthDateFrom(LocalDate.of(1960, 1, 1)).birthDateTo(LocalDate.of(1960, 12, 31)).build(),
+                UserFilter.builder().birthDateTo(LocalDate.of(1955, 1, 1)).hasPhoneNumber(false).lastName("doe").build(),
+                UserFilter.builder().emailContains("USER1").build(),
+                UserFilter.builder().emailContains("9@").birthDateFrom(LocalDate.of(1990, 1, 1)).build(),
+                UserFilter.builder().firstName("Nobody").hasPhoneNumber(true).build());
+
+        for (UserFilter filter : filters) {
+            List<User> expected = users.stream().filter(filter::matches).toList();
+            assertEquals(expected, userRepository.findMatching(filter), filter.toString());
+            assertEquals(expected.size(), userRepository.explain(filter).matched(), filter.toString());
+        }
+    }
+
+    @Test
+    void explain_IntersectsSmallestIndexFirst() {
+        UserFilter filter = UserFilter.builder()
+                .hasPhoneNumber(true)
+                .firstName("Maria")
+                .addressContains("Lviv")
+                .emailContains("example")
+                .build();
+
+        QueryPlan plan = userRepository.explain(filter);
+
+        List<QueryPlan.Step> steps = plan.steps();
+        assertEquals(Operation.INDEX_LOOKUP, steps.get(0).operation());
+        for (int i = 1; i < steps.size() - 1; i++) {
+            assertTrue(steps.get(i).estimatedRows() >= steps.get(i - 1).estimatedRows());
+        }
+        assertEquals(Operation.FILTER, steps.get(steps.size() - 1).operation());
+        assertTrue(plan.candidates() < users.size());
+    }
+
+    @Test
+    void explain_NoIndexedCriterion_FullScan() {
+        QueryPlan plan = userRepository.explain(UserFilter.builder().emailContains("@example.com").build());
+
+        assertEquals(Operation.FULL_SCAN, plan.steps().get(0).operation());
+        assertEquals(users.size(), plan.candidates());
+        assertEquals(users.size(), plan.matched());
+    }
+
+    @Test
+    void writes_KeepIndexesConsistent() {
+        User user = users.get(0);
+        user.setFirstName("Renamed");
+        user.setBirthDate(LocalDate.of(2001, 2, 3));
+        userRepository.update(user);
+        assertEquals(users.get(1), userRepository.deleteById(users.get(1).getId()).orElseThrow());
+        assertTrue(userRepository.deleteById(users.get(1).getId()).isEmpty());
+        userRepository.updateMatching(UserFilter.builder().firstName("Taras").build(), u -> u.setLastName("Patched"));
+        long deleted = userRepository.deleteMatching(UserFilter.builder().lastName("Kovalenko").hasPhoneNumber(true).build());
+
+        assertTrue(deleted > 0);
+        assertEquals(List.of(user), userRepository.findMatching(UserFilter.builder().firstName("renamed").build()));
+        assertEquals(List.of(user), userRepository.findByBirthDateBetween(LocalDate.of(2001, 2, 2), LocalDate.of(2001, 2, 4)));
+        assertTrue(userRepository.findMatching(UserFilter.builder().lastName("Kovalenko").hasPhoneNumber(true).build()).isEmpty());
+        List<User> patched = userRepository.findMatching(UserFilter.builder().lastName("patched").build());
+        assertFalse(patched.isEmpty());
+        assertTrue(patched.stream().allMatch(u -> u.getFirstName().equals("Taras")));
+        assertTrue(userRepository.findById(users.get(1).getId()).isEmpty());
+    }
+
+    @Test
+    void restore_IdBeyondIndexRange_RejectedBeforeAnyWrite() {
+        User largest = User.builder().id(InMemoryUserRepository.MAX_USER_ID).firstName("Edge").birthDate(LocalDate.of(1990, 1, 1)).build();
+        User beyond = User.builder().id(InMemoryUserRepository.MAX_USER_ID + 1).firstName("Edge").birthDate(LocalDate.of(1990, 1, 1)).build();
+
+        assertThrows(ValidationException.class, () -> userRepository.restore(List.of(largest, beyond)));
+        assertTrue(userRepository.findById(largest.getId()).isEmpty());
+
+        userRepository.restore(List.of(largest));
+        assertEquals(List.of(largest), userRepository.findMatching(UserFilter.builder().firstName("edge").build()));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.clearsolutiontask.repository;
+
+import org.example.clearsolutiontask.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeAndRead_RoundTripsAllFieldsInBatches() throws IOException {
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            users.add(User.builder()
+                    .id(id)
+                    .email("user" + id + "@example.com")
+                    .firstName("Іван")
+                    .lastName("Doe")
+                    .birthDate(LocalDate.of(1980, 1, 1).plusDays(id))
+                    .address(id % 2 == 0 ? null : "Kyiv")
+                    .build());
+        }
+        Path path = tempDir.resolve("users.snapshot");
+
+        assertEquals(5, UserSnapshot.write(path, users.iterator()));
+
+        List<List<User>> batches = new ArrayList<>();
+        long read = UserSnapshot.read(path, 2, batches::add);
+
+        assertEquals(5, read);
+        assertEquals(3, batches.size());
+        assertEquals(users, batches.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    void read_NotASnapshot_ThrowsIOException() throws IOException {
+        Path path = tempDir.resolve("garbage.snapshot");
+        Files.writeString(path, "definitely not a snapshot");
+
+        assertThrows(IOException.class, () -> UserSnapshot.read(path, 10, batch -> { }));
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.clearsolutiontask.repository.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringBitmapTest {
+
+    @Test
+    void operations_MatchBitSetAcrossContainerKinds() {
+        Random random = new Random(7);
+        // Dense and sparse ranges so both array and bitmap containers are exercised and converted.
+        BitSet[] expected = {new BitSet(), new BitSet(), new BitSet()};
+        RoaringBitmap[] bitmaps = {new RoaringBitmap(), new RoaringBitmap(), new RoaringBitmap()};
+        for (int i = 0; i < 200_000; i++) {
+            int which = random.nextInt(3);
+            int value = random.nextBoolean() ? random.nextInt(20_000) : random.nextInt(5_000_000);
+            if (random.nextInt(5) == 0) {
+                expected[which].clear(value);
+                bitmaps[which].remove(value);
+            } else {
+                expected[which].set(value);
+                bitmaps[which].add(value);
+            }
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(expected[i].stream().toArray(), bitmaps[i].toArray());
+            assertEquals(expected[i].cardinality(), bitmaps[i].cardinality());
+        }
+        BitSet and = (BitSet) expected[0].clone();
+        and.and(expected[1]);
+        assertArrayEquals(and.stream().toArray(), bitmaps[0].and(bitmaps[1]).toArray());
+        BitSet or = (BitSet) expected[0].clone();
+        or.or(expected[1]);
+        or.or(expected[2]);
+        assertArrayEquals(or.stream().toArray(), RoaringBitmap.orAll(List.of(bitmaps)).toArray());
+        assertArrayEquals(or.stream().toArray(), bitmaps[0].or(bitmaps[1]).or(bitmaps[2]).toArray());
+    }
+
+    @Test
+    void copy_IsIndependent() {
+        RoaringBitmap original = RoaringBitmap.of(1, 2, 70_000);
+        RoaringBitmap copy = original.copy();
+        copy.add(3);
+        copy.remove(70_000);
+
+        assertArrayEquals(new int[]{1, 2, 70_000}, original.toArray());
+        assertArrayEquals(new int[]{1, 2, 3}, copy.toArray());
+        assertTrue(new RoaringBitmap().and(original).isEmpty());
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.clearsolutiontask.repository.storage;
+
+import org.example.clearsolutiontask.dto.EditUserDto;
+import org.example.clearsolutiontask.dto.StorageStatsDto;
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
+import org.example.clearsolutiontask.repository.InMemoryUserRepository;
+import org.example.clearsolutiontask.repository.UserRepository;
+import org.example.clearsolutiontask.service.SearchResultCache;
+import org.example.clearsolutiontask.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredUserStoreTest {
+
+    private static final int HOT_ENTRIES = 32;
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path tempDir;
+
+    private TieredUserStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void get_EvictedUser_FaultsInFromColdSegments() throws Exception {
+        store = TieredUserStore.open(tempDir.toString(), HOT_ENTRIES, SEGMENT_SIZE);
+        List<User> users = users(500);
+        users.forEach(store::put);
+
+        for (User user : users) {
+            assertEquals(user, store.get(user.getId()));
+        }
+        assertEquals(user(42), store.get(42));
+        assertEquals(user(42), store.get(42));
+
+        StorageStatsDto stats = store.stats();
+        assertEquals(500, stats.getUsers());
+        assertTrue(stats.getHotEntries() <= HOT_ENTRIES);
+        assertTrue(stats.getFaults() >= 500 - HOT_ENTRIES);
+        assertTrue(stats.getHits() > 0);
+        assertTrue(stats.getColdSegments() > 1);
+        try (var files = Files.list(tempDir)) {
+            assertEquals(stats.getColdSegments(), files.count());
+        }
+    }
+
+    @Test
+    void putAndRemove_ReturnPreviousVersionsAndDetachReads() {
+        store = TieredUserStore.open(tempDir.toString(), HOT_ENTRIES, SEGMENT_SIZE);
+        assertNull(store.put(user(1)));
+
+        User read = store.get(1);
+        read.setFirstName("Changed");
+        assertEquals("First1", store.get(1).getFirstName());
+
+        assertEquals(user(1), store.put(read));
+        assertEquals("Changed", store.read(1).getFirstName());
+        assertEquals(read, store.remove(1));
+        assertNull(store.get(1));
+        assertFalse(store.contains(1));
+        assertEquals(0, store.size());
+        assertTrue(store.stats().getDeadBytes() > 0);
+    }
+
+    @Test
+    void put_BulkWrites_DoNotDisplaceHotReadSet() {
+        store = TieredUserStore.open(tempDir.toString(), HOT_ENTRIES, SEGMENT_SIZE);
+        users(HOT_ENTRIES / 2).forEach(store::put);
+        for (long id = 1; id <= HOT_ENTRIES / 2; id++) {
+            store.get(id);
+        }
+
+        users(2_000).forEach(store::put);
+        long faultsBefore = store.stats().getFaults();
+        for (long id = 1; id <= HOT_ENTRIES / 2; id++) {
+            assertEquals(user(id), store.get(id));
+        }
+
+        assertEquals(faultsBefore, store.stats().getFaults());
+        assertEquals(0, store.stats().getEvictions());
+    }
+
+    @Test
+    void searchCache_EditKeepingBirthDate_ServesFreshCopy() {
+        store = TieredUserStore.open(tempDir.toString(), HOT_ENTRIES, SEGMENT_SIZE);
+        UserRepository repository = new InMemoryUserRepository(store);
+        repository.saveAll(users(100));
+        UserService userService = new UserService(repository, new SearchResultCache(16));
+        User user = repository.findById(5L).orElseThrow();
+        LocalDate from = user.getBirthDate().minusDays(1);
+        LocalDate to = user.getBirthDate().plusDays(1);
+        userService.getUsersByBirthDateRange(from, to);
+
+        userService.patchUser(5L, EditUserDto.builder().email("changed@example.com").build());
+
+        assertEquals("changed@example.com", userService.getUsersByBirthDateRange(from, to).get(0).getEmail());
+    }
+
+    @Test
+    void repository_QueriesWorkAcrossBothTiers() {
+        store = TieredUserStore.open(tempDir.toString(), HOT_ENTRIES, SEGMENT_SIZE);
+        UserRepository repository = new InMemoryUserRepository(store);
+        List<User> users = users(1_000);
+        repository.saveAll(users);
+
+        User patched = repository.findById(7L).orElseThrow();
+        patched.setBirthDate(LocalDate.of(2000, 1, 1));
+        repository.update(patched);
+        repository.deleteById(8L);
+        repository.updateMatching(UserFilter.builder().firstName("First9").build(), user -> user.setLastName("Bulk"));
+
+        assertEquals(List.of(patched), repository.findByBirthDateBetween(LocalDate.of(1999, 12, 31), LocalDate.of(2000, 1, 2)));
+        List<User> range = repository.findByBirthDateBetween(LocalDate.of(1959, 12, 31), LocalDate.of(1961, 1, 1));
+        assertEquals(users.stream().filter(user -> user.getBirthDate().getYear() == 1960).map(User::getId).toList(),
+                range.stream().map(User::getId).toList());
+        assertEquals("Bulk", repository.findById(9L).orElseThrow().getLastName());
+        assertEquals(List.of(repository.findById(9L).orElseThrow()),
+                repository.findMatching(UserFilter.builder().lastName("bulk").build()));
+        assertTrue(repository.findMatching(UserFilter.builder().firstName("First8").build()).isEmpty());
+        assertEquals(999, repository.streamAll().count());
+        assertEquals("tiered", repository.storageStats().getMode());
+    }
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    private static User user(long id) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .firstName("First" + id)
+                .lastName(id % 3 == 0 ? null : "Last" + id)
+                .birthDate(LocalDate.of(1950, 1, 1).plusDays(id * 11))
+                .address(id % 2 == 0 ? "Kyiv" : null)
+                .phoneNumber("+380" + id)
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.clearsolutiontask.service;
+
+import org.example.clearsolutiontask.dto.SearchCacheStatsDto;
+import org.example.clearsolutiontask.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    private static final LocalDate FROM = LocalDate.of(1990, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2000, 1, 1);
+
+    private final SearchResultCache cache = new SearchResultCache(2);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_SameRange_LoadsOnce() {
+        List<User> first = cache.get(FROM, TO, this::load);
+        List<User> second = cache.get(FROM, TO, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        SearchCacheStatsDto stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void invalidateChange_OnlyBirthDatesInsideRange_EvictEntry() {
+        cache.get(FROM, TO, this::load);
+
+        cache.invalidate(LocalDate.of(1980, 5, 5));
+        cache.invalidateChange(LocalDate.of(1980, 5, 5), LocalDate.of(1981, 5, 5));
+        cache.invalidate(TO);
+        cache.get(FROM, TO, this::load);
+        assertEquals(1, loads.get());
+
+        cache.invalidateChange(LocalDate.of(1980, 5, 5), LocalDate.of(1995, 5, 5));
+        cache.get(FROM, TO, this::load);
+        assertEquals(2, loads.get());
+
+        cache.invalidateChange(LocalDate.of(1995, 5, 5), LocalDate.of(1995, 5, 5));
+        cache.get(FROM, TO, this::load);
+        assertEquals(3, loads.get(), "a write keeping the birth date must still evict cached copies of the user");
+
+        cache.invalidateAll(List.of(LocalDate.of(1970, 1, 1), LocalDate.of(1999, 12, 31)));
+        cache.get(FROM, TO, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void get_MoreRangesThanCapacity_EvictsLeastRecentlyUsed() {
+        LocalDate otherFrom = LocalDate.of(2001, 1, 1);
+        LocalDate thirdFrom = LocalDate.of(2002, 1, 1);
+        cache.get(FROM, TO, this::load);
+        cache.get(otherFrom, TO.plusYears(5), this::load);
+        cache.get(FROM, TO, this::load);
+        cache.get(thirdFrom, TO.plusYears(5), this::load);
+
+        cache.get(FROM, TO, this::load);
+        cache.get(otherFrom, TO.plusYears(5), this::load);
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.stats().getEvictions());
+    }
+
+    @Test
+    void get_ConcurrentIdenticalQueries_AreCoalesced() throws Exception {
+        int callers = 8;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            Future<List<User>> first = executor.submit(() -> cache.get(FROM, TO, () -> {
+                loading.countDown();
+                await(release);
+                return load();
+            }));
+            loading.await();
+            List<Future<List<User>>> others = new ArrayList<>();
+            for (int i = 1; i < callers; i++) {
+                others.add(executor.submit(() -> cache.get(FROM, TO, this::load)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.stats().getCoalesced() < callers - 1) {
+                assertTrue(System.nanoTime() < deadline, "callers were not coalesced onto the pending load");
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            List<User> result = first.get(5, TimeUnit.SECONDS);
+            for (Future<List<User>> other : others) {
+                assertSame(result, other.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_LoaderFails_DoesNotCacheFailure() {
+        assertThrows(IllegalStateException.class, () -> cache.get(FROM, TO, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        cache.get(FROM, TO, this::load);
+        assertEquals(1, loads.get());
+    }
+
+    private List<User> load() {
+        loads.incrementAndGet();
+        return List.of(User.builder().birthDate(LocalDate.of(1995, 5, 5)).build());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
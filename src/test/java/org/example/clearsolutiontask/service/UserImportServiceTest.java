@@ -0,0 +1,250 @@
+package org.example.clearsolutiontask.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.clearsolutiontask.dto.ImportResultDto;
+import org.example.clearsolutiontask.model.BulkFormat;
+import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.repository.InMemoryUserRepository;
+import org.example.clearsolutiontask.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private UserRepository userRepository;
+    private UserImportService userImportService;
+    private UserExportService userExportService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new InMemoryUserRepository();
+        SearchResultCache searchResultCache = new SearchResultCache(16);
+        UserService userService = new UserService(userRepository, searchResultCache);
+        ReflectionTestUtils.setField(userService, "minUserAge", 18);
+        userImportService = new UserImportService(userService, userRepository, searchResultCache, validator, objectMapper, 2, 2, 10, 5);
+        userExportService = new UserExportService(userRepository, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+    }
+
+    @Test
+    void importUsers_Csv_ImportsValidRowsAndReportsRejected() {
+        String csv = """
+                email,firstName,lastName,birthDate,address,phoneNumber
+                john@example.com,John,Doe,1990-01-01,"1 Main St, Kyiv",1234567890
+                jane@example.com,Jane,Doe,1991-02-02,,
+                invalid-email,Bad,Email,1990-01-01,,
+                kid@example.com,Young,Kid,%s,,
+
+                broken@example.com,Broken,Date,not-a-date,,
+                """.formatted(LocalDate.now().minusYears(5));
+
+        ImportResultDto result = userImportService.importUsers(stream(csv), BulkFormat.CSV);
+
+        assertEquals(5, result.getRowsRead());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(4, result.getErrors().get(0).getLine());
+        assertEquals("User must be older than 18 age", result.getErrors().get(1).getMessage());
+        assertEquals(7, result.getErrors().get(2).getLine());
+    }
+
+    @Test
+    void importUsers_Ndjson_ImportsValidRowsAndReportsRejected() {
+        String ndjson = """
+                {"email":"john@example.com","firstName":"John","lastName":"Doe","birthDate":"1990-01-01"}
+                {"email":"jane@example.com","firstName":"Jane","birthDate":"1991-02-02"}
+                {"email":"bob@example.com","firstName":"Bob","lastName":"Doe","birthDate":"1985-03-03","phoneNumber":"123-456-7890"}
+                {not json
+                """;
+
+        ImportResultDto result = userImportService.importUsers(stream(ndjson), BulkFormat.NDJSON);
+
+        assertEquals(4, result.getRowsRead());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("lastName: "));
+        assertEquals("Malformed record", result.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    void importUsers_ErrorsAboveLimit_AreCountedButNotReported() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            ndjson.append("{\"email\":\"bad\"}\n");
+        }
+
+        ImportResultDto result = userImportService.importUsers(stream(ndjson.toString()), BulkFormat.NDJSON);
+
+        assertEquals(25, result.getRejected());
+        assertEquals(10, result.getErrors().size());
+    }
+
+    @Test
+    void export_RangeAsCsv_WritesOnlyMatchingRows() {
+        String ndjson = """
+                {"email":"old@example.com","firstName":"Old","lastName":"Timer","birthDate":"1950-06-15","address":"Kyiv, \\"Center\\""}
+                {"email":"young@example.com","firstName":"Young","lastName":"Adult","birthDate":"1999-06-15"}
+                """;
+        userImportService.importUsers(stream(ndjson), BulkFormat.NDJSON);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long rows = userExportService.export(output, BulkFormat.CSV, LocalDate.of(1950, 6, 14), LocalDate.of(1950, 6, 16));
+
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertEquals(1, rows);
+        assertEquals(UserExportService.CSV_HEADER + "\n"
+                + "1,old@example.com,Old,Timer,1950-06-15,\"Kyiv, \"\"Center\"\"\",\n", csv);
+    }
+
+    @Test
+    void exportToFile_Ndjson_WritesEveryUser(@TempDir Path directory) throws IOException {
+        String ndjson = """
+                {"email":"old@example.com","firstName":"Old","lastName":"Timer","birthDate":"1950-06-15"}
+                {"email":"young@example.com","firstName":"Young","lastName":"Adult","birthDate":"1999-06-15"}
+                """;
+        userImportService.importUsers(stream(ndjson), BulkFormat.NDJSON);
+        Path file = directory.resolve("users.ndjson");
+
+        long rows = userExportService.exportToFile(file, BulkFormat.NDJSON, null, null);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, rows);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"email\":\"old@example.com\""), lines.get(0));
+        assertTrue(lines.get(1).contains("\"email\":\"young@example.com\""), lines.get(1));
+    }
+
+    @Test
+    void importUsers_Csv_ImportsExactRowsWithTheirFields() {
+        String csv = """
+                email,firstName,lastName,birthDate,address,phoneNumber
+                john@example.com,John,Doe,1990-01-01,"1 Main St, Kyiv",1234567890
+                """;
+
+        ImportResultDto result = userImportService.importUsers(stream(csv), BulkFormat.CSV);
+
+        assertEquals(1, result.getImported());
+        User john = userRepository.findById(1L).orElseThrow();
+        assertEquals("john@example.com", john.getEmail());
+        assertEquals("John", john.getFirstName());
+        assertEquals("Doe", john.getLastName());
+        assertEquals(LocalDate.of(1990, 1, 1), john.getBirthDate());
+        assertEquals("1 Main St, Kyiv", john.getAddress());
+        assertEquals("1234567890", john.getPhoneNumber());
+    }
+
+    @Test
+    void exportThenImport_Csv_KeepsMultiLineQuotedFields() {
+        String ndjson = """
+                {"email":"a@example.com","firstName":"Anna","lastName":"Line","birthDate":"1980-01-01","address":"1 Main St\\nApt \\"5\\",\\n\\nKyiv"}
+                {"email":"b@example.com","firstName":"Bob","lastName":"Plain","birthDate":"1981-01-01","address":"2 Side St"}
+                """;
+        userImportService.importUsers(stream(ndjson), BulkFormat.NDJSON);
+        List<User> exported = userRepository.streamAll().toList();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userExportService.export(output, BulkFormat.CSV, null, null);
+
+        UserRepository target = new InMemoryUserRepository();
+        SearchResultCache searchResultCache = new SearchResultCache(16);
+        UserService userService = new UserService(target, searchResultCache);
+        ReflectionTestUtils.setField(userService, "minUserAge", 18);
+        UserImportService importer = new UserImportService(userService, target, searchResultCache, validator, objectMapper, 2, 2, 10, 5);
+        try {
+            ImportResultDto result = importer.importUsers(new ByteArrayInputStream(output.toByteArray()), BulkFormat.CSV);
+
+            assertEquals(2, result.getRowsRead());
+            assertEquals(2, result.getImported());
+            assertEquals(exported.stream().map(User::getAddress).toList(),
+                    target.streamAll().map(User::getAddress).toList());
+            assertEquals("1 Main St\nApt \"5\",\n\nKyiv", target.findById(1L).orElseThrow().getAddress());
+        } finally {
+            importer.shutdown();
+        }
+    }
+
+    @Test
+    void importUsers_Csv_UnterminatedQuote_RejectsRecordAtItsFirstLineAndImportsTheRowsAfterIt() {
+        String csv = """
+                email,firstName,lastName,birthDate,address,phoneNumber
+                john@example.com,John,Doe,1990-01-01,,
+                jane@example.com,Jane,Doe,1991-02-02,"never closed,
+                bob@example.com,Bob,Doe,1985-03-03,2 Side St,
+                ann@example.com,Ann,Doe,1986-04-04,,
+                """;
+
+        ImportResultDto result = userImportService.importUsers(stream(csv), BulkFormat.CSV);
+
+        assertEquals(3, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals(List.of("ann@example.com", "bob@example.com", "john@example.com"),
+                userRepository.streamAll().map(User::getEmail).sorted().toList());
+    }
+
+    @Test
+    void importUsers_Csv_QuoteInsideUnquotedField_IsKeptAsText() {
+        String csv = """
+                email,firstName,lastName,birthDate,address,phoneNumber
+                john@example.com,John,Doe,1990-01-01,"1 Main St" Apt 5 "B,
+                jane@example.com,Ja"ne,Doe,1991-02-02,12" Side St,
+                """;
+
+        ImportResultDto result = userImportService.importUsers(stream(csv), BulkFormat.CSV);
+
+        assertEquals(2, result.getImported());
+        User john = userRepository.streamAll().filter(user -> user.getEmail().startsWith("john")).findFirst().orElseThrow();
+        User jane = userRepository.streamAll().filter(user -> user.getEmail().startsWith("jane")).findFirst().orElseThrow();
+        assertEquals("1 Main St Apt 5 \"B", john.getAddress());
+        assertEquals("Ja\"ne", jane.getFirstName());
+        assertEquals("12\" Side St", jane.getAddress());
+    }
+
+    @Test
+    void importUsers_Csv_QuotedFieldOverLineLimit_RejectedAndLaterRowsImported() {
+        String csv = """
+                email,firstName,lastName,birthDate,address,phoneNumber
+                jane@example.com,Jane,Doe,1991-02-02,"1
+                2
+                3
+                4
+                5
+                6",
+                john@example.com,John,Doe,1990-01-01,,
+                """;
+
+        ImportResultDto result = userImportService.importUsers(stream(csv), BulkFormat.CSV);
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals("john@example.com", userRepository.findById(1L).orElseThrow().getEmail());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
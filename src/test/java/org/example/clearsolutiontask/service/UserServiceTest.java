@@ -1,20 +1,28 @@
 package org.example.clearsolutiontask.service;
 
+import org.example.clearsolutiontask.dto.BulkPatchDto;
 import org.example.clearsolutiontask.dto.EditUserDto;
 import org.example.clearsolutiontask.dto.GetUserDto;
+import org.example.clearsolutiontask.dto.UserBatchDto;
 import org.example.clearsolutiontask.exception.UserNotFoundException;
+import org.example.clearsolutiontask.exception.ValidationException;
 import org.example.clearsolutiontask.model.User;
+import org.example.clearsolutiontask.model.UserFilter;
 import org.example.clearsolutiontask.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +32,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private SearchResultCache searchResultCache = new SearchResultCache(16);
+
     @InjectMocks
     private UserService userService;
 
@@ -232,6 +243,30 @@ class UserServiceTest {
         verify(userRepository, times(1)).deleteById(userId);
     }
 
+    @Test
+    void deleteById_RepositoryRemovedUser_InvalidatesCachedRangesContainingIt() {
+        Long userId = 1L;
+        LocalDate birthDate = LocalDate.of(1990, 5, 5);
+        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.deleteById(userId)).thenReturn(Optional.of(User.builder().id(userId).birthDate(birthDate).build()));
+
+        userService.deleteById(userId);
+
+        verify(searchResultCache).invalidate(birthDate);
+        verify(userRepository, never()).findById(userId);
+    }
+
+    @Test
+    void deleteById_NothingRemoved_LeavesCacheAlone() {
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userRepository.deleteById(userId)).thenReturn(Optional.empty());
+
+        userService.deleteById(userId);
+
+        verifyNoInteractions(searchResultCache);
+    }
+
 
     @Test
     void getUsersByBirthDateRange_ReturnsUserList() {
@@ -266,4 +301,71 @@ class UserServiceTest {
 
         verify(userRepository).findById(userId);
     }
+
+    @Test
+    void deleteMatching_EmptyFilter_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> userService.deleteMatching(UserFilter.builder().build()));
+
+        verify(userRepository, never()).deleteMatching(any(UserFilter.class));
+    }
+
+    @Test
+    void deleteMatching_BirthDateRange_ReturnsDeletedCount() {
+        UserFilter filter = UserFilter.builder()
+                .birthDateFrom(LocalDate.of(1950, 1, 1))
+                .birthDateTo(LocalDate.of(1960, 12, 31))
+                .build();
+        when(userRepository.deleteMatching(filter)).thenReturn(3L);
+
+        assertEquals(3, userService.deleteMatching(filter).getAffected());
+        verify(userRepository, times(1)).deleteMatching(filter);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void patchMatching_BirthDateRange_AppliesOnlyProvidedFields() {
+        UserFilter filter = UserFilter.builder().birthDateTo(LocalDate.of(1960, 12, 31)).build();
+        User matchingUser = User.builder()
+                .email("old@example.com")
+                .firstName("John")
+                .lastName("Doe")
+                .birthDate(LocalDate.of(1955, 5, 5))
+                .build();
+        when(userRepository.updateMatching(eq(filter), any(Consumer.class))).thenAnswer(invocation -> {
+            invocation.<Consumer<User>>getArgument(1).accept(matchingUser);
+            return 1L;
+        });
+
+        long affected = userService.patchMatching(BulkPatchDto.builder()
+                .filter(filter)
+                .patch(EditUserDto.builder().lastName("Archived").build())
+                .build()).getAffected();
+
+        assertEquals(1, affected);
+        assertEquals("Archived", matchingUser.getLastName());
+        assertEquals("old@example.com", matchingUser.getEmail());
+        assertEquals(LocalDate.of(1955, 5, 5), matchingUser.getBirthDate());
+    }
+
+    @Test
+    void findAllById_MixedIds_ReturnsFoundAndMissingInRequestOrder() {
+        ReflectionTestUtils.setField(userService, "maxBatchIds", 3);
+        User first = User.builder().id(3L).build();
+        User second = User.builder().id(1L).build();
+        when(userRepository.findAllById(new LinkedHashSet<>(List.of(3L, 2L, 1L)))).thenReturn(List.of(first, second));
+
+        UserBatchDto batch = userService.findAllById(List.of(3L, 2L, 3L, 1L));
+
+        assertEquals(List.of(first, second), batch.getUsers());
+        assertEquals(List.of(2L), batch.getMissing());
+        verify(userRepository, times(1)).findAllById(new LinkedHashSet<>(List.of(3L, 2L, 1L)));
+    }
+
+    @Test
+    void findAllById_TooManyIds_ThrowsValidationException() {
+        ReflectionTestUtils.setField(userService, "maxBatchIds", 3);
+
+        assertThrows(ValidationException.class, () -> userService.findAllById(List.of(1L, 2L, 3L, 4L)));
+        verifyNoInteractions(userRepository);
+    }
 }